@@ -1,20 +1,44 @@
 package gr.hua.dit.fittrack.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bounded, expiring caches (Caffeine: size-based W-TinyLFU eviction, expire-after-write).
+ *
+ * <p>Every cache records hit / miss / eviction statistics, exposed as {@code cache.*} metrics.</p>
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private static final List<String> CACHE_NAMES = List.of(
+            "weatherForecasts",
+            "weatherForecastFallbacks",
+            "geocodingResults",
+            "phoneNumberValidations"
+    );
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "weatherForecasts",
-                "phoneNumberValidations"
-        );
+    public CacheManager cacheManager(final CacheProperties cacheProperties) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches created on demand (not listed below)
+        cacheManager.setCaffeine(Caffeine.from(cacheProperties.defaultSpec()).recordStats());
+
+        final Set<String> cacheNames = new LinkedHashSet<>(CACHE_NAMES);
+        cacheNames.addAll(cacheProperties.specs().keySet());
+        for (final String cacheName : cacheNames) {
+            cacheManager.registerCustomCache(cacheName,
+                    Caffeine.from(cacheProperties.specFor(cacheName)).recordStats().build());
+        }
+        return cacheManager;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package gr.hua.dit.fittrack.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Per-cache configuration ({@code fittrack.cache.*}).
+ *
+ * <p>Each spec is a Caffeine spec string, e.g. {@code maximumSize=10000,expireAfterWrite=30m}.
+ * Caches without their own spec use {@code default-spec}.</p>
+ *
+ * @param defaultSpec spec of caches not listed in {@code specs}
+ * @param specs spec per cache name
+ */
+@ConfigurationProperties(prefix = "fittrack.cache")
+public record CacheProperties(
+        @DefaultValue("maximumSize=1000,expireAfterWrite=10m") String defaultSpec,
+        Map<String, String> specs
+) {
+
+    public CacheProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+    }
+
+    public String specFor(final String cacheName) {
+        return this.specs.getOrDefault(cacheName, this.defaultSpec);
+    }
+}
@@ -0,0 +1,46 @@
+package gr.hua.dit.fittrack.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for fan-out work (parallel lookups under a latency budget) and background refreshes.
+ *
+ * <p>Boot's {@code applicationTaskExecutor} (MVC async requests, {@code @Async}) is still created
+ * alongside these beans, see {@code spring.task.execution.mode}.</p>
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * One virtual thread per task; tasks are mostly blocking I/O and short-lived.
+     * Shut down without waiting for in-flight tasks.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService fanOutExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Small bounded pool for background weather forecast refreshes; tasks beyond the queue are
+     * rejected (the stale forecast is kept until a later request).
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService weatherRefreshExecutor(
+            @Value("${fittrack.weather.refresh-threads:2}") final int threads,
+            @Value("${fittrack.weather.refresh-queue-capacity:100}") final int queueCapacity) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("weather-refresh-", 0).daemon(true).factory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,84 @@
+package gr.hua.dit.fittrack.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * Shared outbound HTTP client (Apache HttpClient 5) for the integration clients ({@code RestClient},
+ * {@code RestTemplate}).
+ *
+ * <p>Connections are pooled with a total and a per-host limit (requests beyond it wait at most
+ * {@code connection-request-timeout} for a connection), kept alive for {@code keep-alive} unless the
+ * server says otherwise, and responses are transparently gzip / deflate decompressed. Pool usage
+ * (leased / available / pending) is exposed as {@code httpcomponents.httpclient.pool.*} metrics.</p>
+ */
+@Configuration
+public class OutboundHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            @Value("${fittrack.integration.connect-timeout:PT1S}") final Duration connectTimeout,
+            @Value("${fittrack.integration.read-timeout:PT2S}") final Duration readTimeout,
+            @Value("${fittrack.integration.http.max-connections:50}") final int maxConnections,
+            @Value("${fittrack.integration.http.max-connections-per-host:20}") final int maxConnectionsPerHost,
+            @Value("${fittrack.integration.http.connection-ttl:PT5M}") final Duration connectionTtl) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        // Re-check connections idle for a while before reuse (may have been closed by the server)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            final PoolingHttpClientConnectionManager outboundConnectionManager,
+            @Value("${fittrack.integration.read-timeout:PT2S}") final Duration readTimeout,
+            @Value("${fittrack.integration.http.connection-request-timeout:PT0.5S}") final Duration connectionRequestTimeout,
+            @Value("${fittrack.integration.http.keep-alive:PT30S}") final Duration keepAlive) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        // Used when the server does not send a Keep-Alive header
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                // Failures are handled by the callers (circuit breaker, fallbacks), not retried here
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                // Content compression (Accept-Encoding: gzip, deflate) is enabled by default
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory outboundRequestFactory(final CloseableHttpClient outboundHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(outboundHttpClient);
+    }
+
+    @Bean
+    public MeterBinder outboundConnectionPoolMetrics(final PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(outboundConnectionManager, "outbound");
+    }
+}
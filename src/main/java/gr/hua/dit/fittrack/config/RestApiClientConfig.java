@@ -2,6 +2,7 @@ package gr.hua.dit.fittrack.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -11,7 +12,7 @@ public class RestApiClientConfig {
     public static final String BASE_URL = "http://localhost:8081";
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(final ClientHttpRequestFactory outboundRequestFactory) {
+        return new RestTemplate(outboundRequestFactory);
     }
 }
\ No newline at end of file
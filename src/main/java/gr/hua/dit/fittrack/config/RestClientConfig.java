@@ -2,14 +2,18 @@ package gr.hua.dit.fittrack.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 @Configuration
 public class RestClientConfig {
 
+    /**
+     * Client for the integration service, on the shared pooled outbound HTTP client
+     * ({@link OutboundHttpClientConfig}).
+     */
     @Bean
-    public RestClient restClient() {
-        return RestClient.builder().build();
+    public RestClient restClient(final ClientHttpRequestFactory outboundRequestFactory) {
+        return RestClient.builder().requestFactory(outboundRequestFactory).build();
     }
 }
-
@@ -66,6 +66,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
                         .requestMatchers("/", "/login", "/register", "/guest").permitAll()
+                        // Metrics expose internal state (active appointment counter and drift, circuit, caches, pools)
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/profile", "/profile/**", "/trainer", "/trainer/**",
                                 "/availability", "/availability/**", "/logout").authenticated()
                         .anyRequest().permitAll()
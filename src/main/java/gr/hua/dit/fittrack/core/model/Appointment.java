@@ -13,10 +13,12 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
@@ -30,7 +32,10 @@ import java.time.Instant;
                 @Index(name = "idx_appointment_status", columnList = "status"),
                 @Index(name = "idx_appointment_user", columnList = "user_id"),
                 @Index(name = "idx_appointment_trainer", columnList = "trainer_id"),
-                @Index(name = "idx_appointment_scheduled_at", columnList = "scheduled_at")
+                @Index(name = "idx_appointment_scheduled_at", columnList = "scheduled_at"),
+                @Index(name = "idx_appointment_user_scheduled_at", columnList = "user_id, scheduled_at"),
+                @Index(name = "idx_appointment_trainer_scheduled_at", columnList = "trainer_id, scheduled_at"),
+                @Index(name = "idx_appointment_updated_at", columnList = "updated_at")
         }
 )
 public final class Appointment {
@@ -90,6 +95,13 @@ public final class Appointment {
     @Column(name = "completed_at")
     private Instant completedAt;
 
+    /**
+     * Time of the last change (set on insert and on every update, e.g. a cancellation).
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     /**
      * Coordinates for outdoor training location.
      */
@@ -99,6 +111,13 @@ public final class Appointment {
     @Column(name = "longitude")
     private Double longitude;
 
+    /**
+     * Optimistic locking version, incremented on every update.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Appointment() {
         // JPA
     }
@@ -215,12 +234,23 @@ public final class Appointment {
         this.completedAt = completedAt;
     }
 
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Double getLatitude() { return latitude; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
 
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @Override
     public String toString() {
         return "Appointment{" +
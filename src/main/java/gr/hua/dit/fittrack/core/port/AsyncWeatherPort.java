@@ -0,0 +1,24 @@
+package gr.hua.dit.fittrack.core.port;
+import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking port for weather forecast operations.
+ */
+public interface AsyncWeatherPort {
+
+    /**
+     * Gets weather forecast for a specific location and date without blocking the calling thread.
+     *
+     * <p>The future is completed on a client thread, with a degraded forecast if the weather service
+     * is unavailable; callers should apply their own deadline (e.g. {@code completeOnTimeout}).</p>
+     *
+     * @param latitude the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @param date the date to get forecast for
+     * @return future weather forecast information
+     */
+    CompletableFuture<WeatherForecast> getForecastAsync(double latitude, double longitude, LocalDate date);
+}
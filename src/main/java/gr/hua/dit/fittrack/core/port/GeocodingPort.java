@@ -0,0 +1,24 @@
+package gr.hua.dit.fittrack.core.port;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.GeocodingResult;
+
+/**
+ * Port for geocoding operations (postal code or place name to coordinates).
+ */
+public interface GeocodingPort {
+
+    /**
+     * Longest query accepted by {@link #geocode}.
+     */
+    int MAX_QUERY_LENGTH = 64;
+
+    /**
+     * Looks up the coordinates of a postal code or place name.
+     *
+     * @param postalCode the postal code or place name, at most {@value #MAX_QUERY_LENGTH} characters
+     * @param country the ISO 3166-1 alpha-2 country code
+     * @return the location, or a result with {@code found == false} if there is none or the service
+     *         is not available
+     */
+    GeocodingResult geocode(String postalCode, String country);
+}
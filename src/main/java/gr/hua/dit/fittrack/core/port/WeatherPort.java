@@ -2,12 +2,18 @@ package gr.hua.dit.fittrack.core.port;
 import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Port for weather forecast operations.
  */
 public interface WeatherPort {
 
+    /**
+     * Longest date range (in days) accepted by {@link #getForecasts}.
+     */
+    int MAX_RANGE_DAYS = 16;
+
     /**
      * Gets weather forecast for a specific location and date.
      *
@@ -17,4 +23,26 @@ public interface WeatherPort {
      * @return weather forecast information
      */
     WeatherForecast getForecast(double latitude, double longitude, LocalDate date);
+
+    /**
+     * Gets weather forecasts for a location and every date in {@code [from, to]}, in one upstream
+     * request where possible. Each day is cached on its own, so later {@link #getForecast} calls hit.
+     *
+     * @param latitude the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive), at most {@value #MAX_RANGE_DAYS} days after {@code from}
+     * @return forecast per date, ordered by date
+     */
+    Map<LocalDate, WeatherForecast> getForecasts(double latitude, double longitude, LocalDate from, LocalDate to);
+
+    /**
+     * Identifies the forecast cache cell of a location: locations with the same cell share cached
+     * forecasts (and upstream calls).
+     *
+     * @param latitude the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @return the cell key
+     */
+    String cacheCell(double latitude, double longitude);
 }
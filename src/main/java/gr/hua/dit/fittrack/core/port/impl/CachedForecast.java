@@ -0,0 +1,21 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A cached / stored {@link WeatherForecast} and when it was fetched from the weather service.
+ */
+public record CachedForecast(WeatherForecast forecast, Instant fetchedAt) {
+
+    public CachedForecast {
+        if (forecast == null) throw new NullPointerException();
+        if (fetchedAt == null) throw new NullPointerException();
+    }
+
+    public boolean isOlderThan(final Duration age, final Instant now) {
+        return !this.fetchedAt.plus(age).isAfter(now);
+    }
+}
@@ -0,0 +1,79 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * <ul>
+ *     <li>CLOSED: calls pass; {@code failureThreshold} consecutive failures open the circuit.</li>
+ *     <li>OPEN: calls are rejected for {@code openDuration}, then one trial call is let through.</li>
+ *     <li>HALF_OPEN: the trial call closes the circuit on success and re-opens it on failure.</li>
+ * </ul>
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(final int failureThreshold, final Duration openDuration, final Clock clock) {
+        if (failureThreshold < 1) throw new IllegalArgumentException("failureThreshold must be positive");
+        if (openDuration == null) throw new NullPointerException();
+        if (openDuration.isNegative()) throw new IllegalArgumentException("openDuration cannot be negative");
+        if (clock == null) throw new NullPointerException();
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether a call may proceed; every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (this.state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (this.clock.instant().isBefore(this.openedAt.plus(this.openDuration))) return false;
+                this.state = State.HALF_OPEN;
+                this.trialInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                // Only one trial call at a time
+                if (this.trialInFlight) return false;
+                this.trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        this.consecutiveFailures = 0;
+        this.trialInFlight = false;
+        this.state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        this.trialInFlight = false;
+        if (this.state == State.HALF_OPEN || ++this.consecutiveFailures >= this.failureThreshold) {
+            this.state = State.OPEN;
+            this.openedAt = this.clock.instant();
+            this.consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State state() {
+        return this.state;
+    }
+}
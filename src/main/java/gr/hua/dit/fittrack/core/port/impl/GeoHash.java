@@ -0,0 +1,74 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+/**
+ * Minimal geohash encoder (base32, interleaved longitude/latitude bits).
+ *
+ * <p>Used to quantize coordinates: all points inside the same cell share the same hash. Cell size
+ * at precision 5 is about 4.9km x 4.9km, at 6 about 1.2km x 0.6km, at 7 about 150m x 150m.</p>
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    public static final int MAX_PRECISION = 12;
+
+    private GeoHash() {}
+
+    /**
+     * A geohash cell and its center.
+     */
+    public record Cell(String hash, double centerLatitude, double centerLongitude) {}
+
+    public static String encode(final double latitude, final double longitude, final int precision) {
+        return cell(latitude, longitude, precision).hash();
+    }
+
+    /**
+     * Returns the cell of the given precision (1..12) containing the point.
+     */
+    public static Cell cell(final double latitude, final double longitude, final int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between 1 and " + MAX_PRECISION);
+        }
+        if (latitude < -90 || latitude > 90) throw new IllegalArgumentException("Invalid latitude");
+        if (longitude < -180 || longitude > 180) throw new IllegalArgumentException("Invalid longitude");
+
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        final StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true; // even bits refine longitude, odd bits latitude
+        int bit = 0;
+        int index = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                final double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLon = mid;
+                } else {
+                    index = index << 1;
+                    maxLon = mid;
+                }
+            } else {
+                final double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index = index << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+
+        return new Cell(hash.toString(), (minLat + maxLat) / 2, (minLon + maxLon) / 2);
+    }
+}
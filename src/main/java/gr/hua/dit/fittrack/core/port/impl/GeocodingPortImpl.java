@@ -0,0 +1,131 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.GeocodingPort;
+import gr.hua.dit.fittrack.core.port.impl.dto.GeocodingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Locale;
+
+/**
+ * Implementation of GeocodingPort using the geocoding endpoint of the integration service.
+ *
+ * <p>Results are cached per normalized (query, country) in {@value #CACHE_NAME} (bounded, long TTL:
+ * locations do not move, and the set of queried postal codes is small). Concurrent misses for the
+ * same key are coalesced into one upstream call ({@link SingleFlight}), made outside the cache.
+ * "Not found" answers ({@code found=false} or 404) are cached too; any other error of the service,
+ * including other client errors, is not, so the next lookup retries.</p>
+ */
+@Component
+public class GeocodingPortImpl implements GeocodingPort {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeocodingPortImpl.class);
+
+    private static final String CACHE_NAME = "geocodingResults";
+
+    private final RestClient restClient;
+    private final String geocodingServiceUrl;
+    private final Cache resultCache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter upstreamFailures;
+    private final SingleFlight<GeocodingKey, GeocodingResult> inFlightRequests = new SingleFlight<>();
+
+    public GeocodingPortImpl(
+            final RestClient restClient,
+            @Value("${fittrack.integration.geocoding-service-url:http://localhost:8081}") final String geocodingServiceUrl,
+            final CacheManager cacheManager,
+            final MeterRegistry meterRegistry) {
+        if (restClient == null) throw new NullPointerException();
+        if (geocodingServiceUrl == null) throw new NullPointerException();
+        if (cacheManager == null) throw new NullPointerException();
+        if (meterRegistry == null) throw new NullPointerException();
+        this.restClient = restClient;
+        this.geocodingServiceUrl = geocodingServiceUrl;
+        this.resultCache = cacheManager.getCache(CACHE_NAME);
+        if (this.resultCache == null) throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured");
+
+        this.cacheHits = Counter.builder("fittrack.geocoding.cache.requests")
+                .tag("result", "hit")
+                .description("Geocoding lookups served from the cache")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("fittrack.geocoding.cache.requests")
+                .tag("result", "miss")
+                .description("Geocoding lookups not in the cache")
+                .register(meterRegistry);
+        this.upstreamFailures = Counter.builder("fittrack.geocoding.upstream.failures")
+                .description("Failed calls to the geocoding service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cache key: case and surrounding / repeated whitespace do not matter.
+     */
+    private record GeocodingKey(String query, String country) {}
+
+    @Override
+    public GeocodingResult geocode(final String postalCode, final String country) {
+        if (postalCode == null) throw new NullPointerException();
+        if (country == null) throw new NullPointerException();
+        final String query = postalCode.strip().replaceAll("\\s+", " ");
+        if (query.isEmpty()) throw new IllegalArgumentException("postalCode is blank");
+        if (query.length() > MAX_QUERY_LENGTH) throw new IllegalArgumentException("postalCode is too long");
+        final String countryCode = country.strip().toUpperCase(Locale.ROOT);
+        if (!countryCode.matches("[A-Z]{2}")) throw new IllegalArgumentException("country is not an ISO 3166-1 alpha-2 code");
+
+        final GeocodingKey key = new GeocodingKey(query.toLowerCase(Locale.ROOT), countryCode);
+        final GeocodingResult cached = this.resultCache.get(key, GeocodingResult.class);
+        if (cached != null) {
+            this.cacheHits.increment();
+            return cached;
+        }
+        this.cacheMisses.increment();
+
+        // One upstream call per key at a time; the leader fills the cache before the flight ends
+        return this.inFlightRequests.execute(key, () -> {
+            final GeocodingResult available = this.resultCache.get(key, GeocodingResult.class);
+            if (available != null) return available;
+            try {
+                final GeocodingResult result = this.callUpstream(query, countryCode);
+                this.resultCache.put(key, result);
+                return result;
+            } catch (RestClientException e) {
+                this.upstreamFailures.increment();
+                LOGGER.error("Failed to geocode '{}' ({}): {}", query, countryCode, e.getMessage());
+                return GeocodingResult.notFound("Η υπηρεσία εύρεσης τοποθεσίας δεν είναι διαθέσιμη");
+            }
+        }).value();
+    }
+
+    /**
+     * Calls the geocoding service. A 404 is an answer for this query ("not found"); any other error
+     * is thrown so that it is not cached.
+     */
+    private GeocodingResult callUpstream(final String query, final String country) {
+        LOGGER.debug("Geocoding '{}' ({}) via {}", query, country, this.geocodingServiceUrl);
+        try {
+            final GeocodingResult result = this.restClient
+                    .get()
+                    .uri(this.geocodingServiceUrl + "/api/integration/geocoding?postalCode={postalCode}&country={country}",
+                            query, country)
+                    .retrieve()
+                    .body(GeocodingResult.class);
+            if (result == null) {
+                throw new RestClientException("Empty response from geocoding service");
+            }
+            return result;
+        } catch (HttpClientErrorException.NotFound e) {
+            LOGGER.debug("Geocoding service found no location for '{}' ({})", query, country);
+            return GeocodingResult.notFound("Δεν βρέθηκε τοποθεσία");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller (leader) runs the call, callers
+ * arriving while it is in flight wait for and share its result or failure.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Result of {@link #execute}, telling whether the call was shared with an in-flight one.
+     */
+    public record Result<V>(V value, boolean shared) {}
+
+    /**
+     * Runs {@code call} for {@code key} unless a call for the same key is already in flight,
+     * in which case its outcome is returned instead.
+     *
+     * @throws RuntimeException the exception thrown by the (leader's) call
+     */
+    public Result<V> execute(final K key, final Supplier<V> call) {
+        if (key == null) throw new NullPointerException();
+        if (call == null) throw new NullPointerException();
+
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return new Result<>(await(existing), true);
+        }
+
+        try {
+            final V value = call.get();
+            flight.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}: {@code call} starts the work and returns its future.
+     * Synchronous and asynchronous callers of the same key share one flight. Every caller gets its own
+     * copy of the shared future, so cancelling it or applying a timeout does not affect the others.
+     */
+    public Result<CompletableFuture<V>> executeAsync(final K key, final Supplier<CompletableFuture<V>> call) {
+        if (key == null) throw new NullPointerException();
+        if (call == null) throw new NullPointerException();
+
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return new Result<>(existing.copy(), true);
+        }
+
+        try {
+            call.get().whenComplete((value, failure) -> {
+                this.inFlight.remove(key, flight);
+                if (failure != null) {
+                    flight.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            this.inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return new Result<>(flight.copy(), false);
+    }
+
+    public int inFlightCount() {
+        return this.inFlight.size();
+    }
+
+    private static <V> V await(final CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
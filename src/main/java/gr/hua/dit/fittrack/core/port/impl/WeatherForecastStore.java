@@ -0,0 +1,217 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Persistent second-tier store of weather forecasts, behind the in-memory cache.
+ *
+ * <p>Forecasts live in a plain table (not a JPA entity, so {@code ddl-auto: create-drop} leaves it
+ * alone) and survive restarts. Reads go to the table on an in-memory miss; writes are buffered and
+ * flushed in batches every {@code flush-interval} (write-behind) and on shutdown. At most
+ * {@code max-pending} forecasts are buffered (failed flushes keep theirs): while the buffer is full,
+ * further forecasts are only cached in memory and counted in {@code fittrack.weather.store.dropped}.</p>
+ *
+ * <p>An entry is valid until its forecast date has passed and for at most the weather hard TTL after
+ * it was fetched; expired rows are purged daily.</p>
+ */
+@Component
+public class WeatherForecastStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WeatherForecastStore.class);
+
+    private static final String CREATE_TABLE = """
+        create table if not exists weather_forecast_store (
+            cache_key varchar(64) primary key,
+            forecast_date date not null,
+            temperature_max double precision,
+            temperature_min double precision,
+            precipitation_sum double precision,
+            weather_description varchar(255),
+            fetched_at timestamp not null
+        )
+    """;
+
+    private static final String SELECT = """
+        select forecast_date, temperature_max, temperature_min, precipitation_sum, weather_description, fetched_at
+        from weather_forecast_store
+        where cache_key = ?
+          and forecast_date >= ?
+          and fetched_at > ?
+    """;
+
+    private static final String MERGE = """
+        merge into weather_forecast_store
+            (cache_key, forecast_date, temperature_max, temperature_min, precipitation_sum, weather_description, fetched_at)
+        key (cache_key)
+        values (?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String DELETE_EXPIRED = """
+        delete from weather_forecast_store
+        where forecast_date < ?
+           or fetched_at <= ?
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int maxPending;
+    private final Counter dropped;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, CachedForecast> pending = new ConcurrentHashMap<>();
+
+    public WeatherForecastStore(final JdbcTemplate jdbcTemplate,
+                                @Value("${fittrack.weather.store.enabled:true}") final boolean enabled,
+                                @Value("${fittrack.weather.hard-ttl:P1D}") final Duration maxAge,
+                                @Value("${fittrack.weather.store.max-pending:10000}") final int maxPending,
+                                final MeterRegistry meterRegistry,
+                                final Clock clock) {
+        if (jdbcTemplate == null) throw new NullPointerException();
+        if (maxAge == null) throw new NullPointerException();
+        if (maxPending < 1) throw new IllegalArgumentException("maxPending must be positive");
+        if (meterRegistry == null) throw new NullPointerException();
+        if (clock == null) throw new NullPointerException();
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.maxPending = maxPending;
+        this.dropped = Counter.builder("fittrack.weather.store.dropped")
+                .description("Forecasts not persisted because the write-behind buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("fittrack.weather.store.pending", this.pending, Map::size)
+                .register(meterRegistry);
+        this.clock = clock;
+        if (enabled) {
+            this.jdbcTemplate.execute(CREATE_TABLE);
+        }
+    }
+
+    /**
+     * Returns the stored (or not yet flushed) forecast of a cache key, if still valid.
+     */
+    public Optional<CachedForecast> find(final String cacheKey) {
+        if (cacheKey == null) throw new NullPointerException();
+        if (!this.enabled) return Optional.empty();
+
+        final Instant notFetchedBefore = this.clock.instant().minus(this.maxAge);
+        final CachedForecast buffered = this.pending.get(cacheKey);
+        if (buffered != null) {
+            return isValid(buffered, notFetchedBefore) ? Optional.of(buffered) : Optional.empty();
+        }
+        try {
+            final List<CachedForecast> rows = this.jdbcTemplate.query(SELECT,
+                    (rs, rowNum) -> new CachedForecast(
+                            new WeatherForecast(
+                                    rs.getDate("forecast_date").toLocalDate(),
+                                    rs.getObject("temperature_max", Double.class),
+                                    rs.getObject("temperature_min", Double.class),
+                                    rs.getObject("precipitation_sum", Double.class),
+                                    rs.getString("weather_description")),
+                            rs.getTimestamp("fetched_at").toInstant()),
+                    cacheKey, Date.valueOf(LocalDate.now(this.clock)), Timestamp.from(notFetchedBefore));
+            return rows.stream().findFirst();
+        } catch (DataAccessException e) {
+            LOGGER.warn("Failed to read stored weather forecast {}: {}", cacheKey, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Buffers a forecast for the next flush. Degraded forecasts are not stored, new keys are dropped
+     * while the buffer is full (e.g. the database is unavailable).
+     *
+     * @return whether the forecast was buffered
+     */
+    public boolean save(final String cacheKey, final CachedForecast cached) {
+        if (cacheKey == null) throw new NullPointerException();
+        if (cached == null) throw new NullPointerException();
+        if (!this.enabled || cached.forecast().degraded() || cached.forecast().date() == null) return false;
+        // Replacing a buffered key does not grow the buffer
+        if (this.pending.size() >= this.maxPending && !this.pending.containsKey(cacheKey)) {
+            this.dropped.increment();
+            LOGGER.debug("Weather forecast store buffer full ({}), not persisting {}", this.maxPending, cacheKey);
+            return false;
+        }
+        this.pending.put(cacheKey, cached);
+        return true;
+    }
+
+    /**
+     * Writes the buffered forecasts in one batch.
+     *
+     * @return the number of forecasts written
+     */
+    @Scheduled(
+            initialDelayString = "${fittrack.weather.store.flush-interval:PT5S}",
+            fixedDelayString = "${fittrack.weather.store.flush-interval:PT5S}"
+    )
+    public int flush() {
+        if (this.pending.isEmpty()) return 0;
+
+        final List<Map.Entry<String, CachedForecast>> batch = new ArrayList<>(this.pending.entrySet());
+        try {
+            this.jdbcTemplate.batchUpdate(MERGE, batch, batch.size(), (ps, entry) -> {
+                final WeatherForecast forecast = entry.getValue().forecast();
+                ps.setString(1, entry.getKey());
+                ps.setDate(2, Date.valueOf(forecast.date()));
+                ps.setObject(3, forecast.temperatureMax());
+                ps.setObject(4, forecast.temperatureMin());
+                ps.setObject(5, forecast.precipitationSum());
+                ps.setString(6, forecast.weatherDescription());
+                ps.setTimestamp(7, Timestamp.from(entry.getValue().fetchedAt()));
+            });
+        } catch (DataAccessException e) {
+            // Kept buffered, retried on the next flush
+            LOGGER.warn("Failed to store {} weather forecasts: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+        // Entries replaced while flushing stay buffered
+        batch.forEach(entry -> this.pending.remove(entry.getKey(), entry.getValue()));
+        LOGGER.debug("Stored {} weather forecasts", batch.size());
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        this.flush();
+    }
+
+    @Scheduled(cron = "${fittrack.weather.store.purge-cron:0 30 0 * * *}")
+    public int purgeExpired() {
+        if (!this.enabled) return 0;
+        final int deleted = this.jdbcTemplate.update(DELETE_EXPIRED,
+                Date.valueOf(LocalDate.now(this.clock)), Timestamp.from(this.clock.instant().minus(this.maxAge)));
+        LOGGER.info("Purged {} expired stored weather forecasts", deleted);
+        return deleted;
+    }
+
+    private boolean isValid(final CachedForecast cached, final Instant notFetchedBefore) {
+        return !cached.forecast().date().isBefore(LocalDate.now(this.clock)) && cached.fetchedAt().isAfter(notFetchedBefore);
+    }
+}
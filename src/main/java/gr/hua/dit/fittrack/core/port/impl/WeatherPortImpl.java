@@ -1,42 +1,224 @@
 package gr.hua.dit.fittrack.core.port.impl;
 
+import gr.hua.dit.fittrack.core.port.AsyncWeatherPort;
 import gr.hua.dit.fittrack.core.port.WeatherPort;
 import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
 import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecastResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 /**
  * Implementation of WeatherPort using the external weather service.
+ *
+ * <p>Forecasts are cached per geohash cell (see {@link GeoHash}) and date, so nearby locations share
+ * one entry and one upstream call; the upstream is queried at the cell center. Precision 0 disables
+ * quantization (raw coordinates). Hits and misses are counted per precision.</p>
+ *
+ * <p>Concurrent misses for the same (cell, date) are coalesced into one upstream call
+ * ({@link SingleFlight}); the other callers share its result or failure.</p>
+ *
+ * <p>When the upstream fails, a {@link WeatherForecast#degraded() degraded} default is returned and
+ * cached separately ({@value #FALLBACK_CACHE_NAME}, short TTL), so an outage is not retried on
+ * every call but real data replaces it once the fallback expires and the upstream recovers.</p>
+ *
+ * <p>Upstream calls go through a {@link CircuitBreaker} and a bulkhead (at most
+ * {@code max-concurrent-calls} at once). Rejected calls fail fast with the degraded default instead
+ * of tying up request threads; connect / read timeouts are set on the {@link RestClient}.</p>
+ *
+ * <p>{@link #getForecasts} requests the uncached days of a range with one call to the range endpoint
+ * and splits the response into per-day entries; concurrent calls for the same (cell, from, to) are
+ * coalesced. If the weather service has no range endpoint (404), ranges fall back to single-day
+ * requests until the endpoint is probed again after {@code range-reprobe-interval}.</p>
+ *
+ * <p>Real (non-degraded) forecasts are also kept in the persistent {@link WeatherForecastStore},
+ * consulted on an in-memory miss before calling the weather service, so a restarted node starts warm.</p>
+ *
+ * <p>Stale-while-revalidate: a forecast older than {@code soft-ttl} is still returned immediately and
+ * one background refresh per key is started on the refresh executor; only forecasts older than
+ * {@code hard-ttl} are treated as missing. A failed refresh keeps the stale forecast.</p>
+ *
+ * <p>{@link AsyncWeatherPort}: the same lookup, with the upstream call made on the fan-out executor
+ * (virtual threads) through the same pooled {@link RestClient}, so the caller does not wait on the
+ * weather service (the in-memory and local store lookups still run on the caller).</p>
  */
 @Component
-public class WeatherPortImpl implements WeatherPort {
+public class WeatherPortImpl implements WeatherPort, AsyncWeatherPort {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WeatherPortImpl.class);
 
+    private static final String CACHE_NAME = "weatherForecasts";
+    private static final String FALLBACK_CACHE_NAME = "weatherForecastFallbacks";
+
     private final RestClient restClient;
     private final String weatherServiceUrl;
     private final boolean weatherServiceEnabled;
+    private final Cache forecastCache;
+    private final Cache fallbackCache;
+    private final WeatherForecastStore forecastStore;
+    private final int geohashPrecision;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter fallbackHits;
+    private final Counter staleHits;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+    private final Counter refreshRejections;
+    private final Counter storeHits;
+    private final Counter storeMisses;
+    private final Counter coalescedCalls;
+    private final SingleFlight<String, WeatherForecast> inFlightRequests = new SingleFlight<>();
+    private final SingleFlight<String, Map<LocalDate, WeatherForecast>> inFlightRanges = new SingleFlight<>();
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+    private final Duration rangeReprobeInterval;
+    private volatile Instant rangeUnsupportedUntil;
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final Executor refreshExecutor;
+    private final Executor fanOutExecutor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Clock clock;
 
     public WeatherPortImpl(
             final RestClient restClient,
             @Value("${fittrack.integration.weather-service-url:http://localhost:8081}") final String weatherServiceUrl,
-            @Value("${fittrack.integration.weather-service-enabled:false}") final boolean weatherServiceEnabled) {
+            @Value("${fittrack.integration.weather-service-enabled:false}") final boolean weatherServiceEnabled,
+            final CacheManager cacheManager,
+            final WeatherForecastStore forecastStore,
+            final MeterRegistry meterRegistry,
+            @Value("${fittrack.weather.geohash-precision:6}") final int geohashPrecision,
+            @Value("${fittrack.weather.max-concurrent-calls:16}") final int maxConcurrentCalls,
+            @Value("${fittrack.weather.circuit-breaker.failure-threshold:5}") final int failureThreshold,
+            @Value("${fittrack.weather.circuit-breaker.open-duration:PT30S}") final Duration openDuration,
+            @Value("${fittrack.weather.soft-ttl:PT30M}") final Duration softTtl,
+            @Value("${fittrack.weather.hard-ttl:P1D}") final Duration hardTtl,
+            @Value("${fittrack.weather.range-reprobe-interval:PT1H}") final Duration rangeReprobeInterval,
+            @Qualifier("weatherRefreshExecutor") final Executor refreshExecutor,
+            @Qualifier("fanOutExecutor") final Executor fanOutExecutor,
+            final Clock clock) {
         if (restClient == null) throw new NullPointerException();
         if (weatherServiceUrl == null || weatherServiceUrl.isBlank()) {
             throw new IllegalArgumentException("Weather service URL cannot be null or blank");
         }
+        if (cacheManager == null) throw new NullPointerException();
+        if (forecastStore == null) throw new NullPointerException();
+        if (meterRegistry == null) throw new NullPointerException();
+        if (geohashPrecision < 0 || geohashPrecision > GeoHash.MAX_PRECISION) {
+            throw new IllegalArgumentException("geohashPrecision must be between 0 and " + GeoHash.MAX_PRECISION);
+        }
+        if (maxConcurrentCalls < 1) throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        if (softTtl == null) throw new NullPointerException();
+        if (hardTtl == null) throw new NullPointerException();
+        if (hardTtl.compareTo(softTtl) < 0) throw new IllegalArgumentException("hardTtl cannot be shorter than softTtl");
+        if (rangeReprobeInterval == null) throw new NullPointerException();
+        if (refreshExecutor == null) throw new NullPointerException();
+        if (fanOutExecutor == null) throw new NullPointerException();
+        if (clock == null) throw new NullPointerException();
 
         this.restClient = restClient;
         this.weatherServiceUrl = weatherServiceUrl;
         this.weatherServiceEnabled = weatherServiceEnabled;
+        this.forecastCache = cacheManager.getCache(CACHE_NAME);
+        if (this.forecastCache == null) throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured");
+        this.fallbackCache = cacheManager.getCache(FALLBACK_CACHE_NAME);
+        if (this.fallbackCache == null) throw new IllegalStateException("Cache " + FALLBACK_CACHE_NAME + " is not configured");
+        this.forecastStore = forecastStore;
+        this.geohashPrecision = geohashPrecision;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, clock);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        this.rangeReprobeInterval = rangeReprobeInterval;
+        this.refreshExecutor = refreshExecutor;
+        this.fanOutExecutor = fanOutExecutor;
+        this.clock = clock;
+
+        final String precisionTag = geohashPrecision == 0 ? "raw" : String.valueOf(geohashPrecision);
+        this.cacheHits = Counter.builder("fittrack.weather.cache.requests")
+                .tag("result", "hit")
+                .tag("precision", precisionTag)
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("fittrack.weather.cache.requests")
+                .tag("result", "miss")
+                .tag("precision", precisionTag)
+                .register(meterRegistry);
+        this.fallbackHits = Counter.builder("fittrack.weather.cache.requests")
+                .tag("result", "fallback")
+                .tag("precision", precisionTag)
+                .register(meterRegistry);
+        this.staleHits = Counter.builder("fittrack.weather.cache.requests")
+                .tag("result", "stale")
+                .tag("precision", precisionTag)
+                .register(meterRegistry);
+        this.refreshSuccesses = Counter.builder("fittrack.weather.cache.refreshes")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("fittrack.weather.cache.refreshes")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.refreshRejections = Counter.builder("fittrack.weather.cache.refreshes")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.storeHits = Counter.builder("fittrack.weather.store.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.storeMisses = Counter.builder("fittrack.weather.store.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("fittrack.weather.cache.hit_ratio", this, WeatherPortImpl::hitRatio)
+                .tag("precision", precisionTag)
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("fittrack.weather.upstream.coalesced")
+                .description("Weather cache misses served by an already in-flight upstream call")
+                .register(meterRegistry);
+        Gauge.builder("fittrack.weather.upstream.in_flight", this.inFlightRequests, SingleFlight::inFlightCount)
+                .register(meterRegistry);
+        for (final CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("fittrack.weather.circuit.state", this.circuitBreaker, cb -> cb.state() == state ? 1 : 0)
+                    .description("1 for the current state of the weather circuit breaker, 0 otherwise")
+                    .tag("state", state.name().toLowerCase(java.util.Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        this.circuitOpenRejections = Counter.builder("fittrack.weather.upstream.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.bulkheadRejections = Counter.builder("fittrack.weather.upstream.rejected")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+        Gauge.builder("fittrack.weather.upstream.bulkhead_available", this.bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
 
         if (!weatherServiceEnabled) {
             LOGGER.warn("Weather service is disabled, will return default forecasts");
@@ -45,8 +227,12 @@ public class WeatherPortImpl implements WeatherPort {
         }
     }
 
+    /**
+     * Cache location: geohash cell (queried at its center) or the raw coordinates.
+     */
+    private record Location(String key, double latitude, double longitude) {}
+
     @Override
-    @Cacheable(value = "weatherForecasts", key = "#latitude + '_' + #longitude + '_' + #date")
     public WeatherForecast getForecast(final double latitude, final double longitude, final LocalDate date) {
         if (date == null) throw new NullPointerException("Date cannot be null");
 
@@ -55,15 +241,344 @@ public class WeatherPortImpl implements WeatherPort {
             return createDefaultForecast(date);
         }
 
+        final Location location = this.quantize(latitude, longitude);
+        final String cacheKey = cacheKey(location, date);
+
+        final WeatherForecast cached = this.cachedForecast(location, date, cacheKey);
+        if (cached != null) return cached;
+        this.cacheMisses.increment();
+        return this.loadForecast(location, date, cacheKey);
+    }
+
+    @Override
+    public CompletableFuture<WeatherForecast> getForecastAsync(final double latitude,
+                                                               final double longitude,
+                                                               final LocalDate date) {
+        if (date == null) throw new NullPointerException("Date cannot be null");
+
+        if (!weatherServiceEnabled) {
+            LOGGER.debug("Weather service disabled, returning default forecast");
+            return CompletableFuture.completedFuture(createDefaultForecast(date));
+        }
+
+        final Location location = this.quantize(latitude, longitude);
+        final String cacheKey = cacheKey(location, date);
+
+        final WeatherForecast cached = this.cachedForecast(location, date, cacheKey);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        this.cacheMisses.increment();
+
+        final SingleFlight.Result<CompletableFuture<WeatherForecast>> result = this.inFlightRequests.executeAsync(cacheKey, () -> {
+            final WeatherForecast available = this.recheck(location, date, cacheKey);
+            if (available != null) return CompletableFuture.completedFuture(available);
+
+            return this.fetchForecastAsync(location.latitude(), location.longitude(), date)
+                    .thenApply(forecast -> {
+                        this.store(cacheKey, forecast);
+                        return forecast;
+                    });
+        });
+        if (result.shared()) {
+            this.coalescedCalls.increment();
+        }
+        return result.value();
+    }
+
+    @Override
+    public Map<LocalDate, WeatherForecast> getForecasts(final double latitude,
+                                                        final double longitude,
+                                                        final LocalDate from,
+                                                        final LocalDate to) {
+        if (from == null) throw new NullPointerException("From date cannot be null");
+        if (to == null) throw new NullPointerException("To date cannot be null");
+        if (to.isBefore(from)) throw new IllegalArgumentException("To date cannot be before from date");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        final List<LocalDate> dates = from.datesUntil(to.plusDays(1)).toList();
+        final Map<LocalDate, WeatherForecast> forecasts = new LinkedHashMap<>();
+        if (!weatherServiceEnabled) {
+            LOGGER.debug("Weather service disabled, returning default forecasts");
+            dates.forEach(date -> forecasts.put(date, createDefaultForecast(date)));
+            return forecasts;
+        }
+
+        final Location location = this.quantize(latitude, longitude);
+        final List<LocalDate> missing = new ArrayList<>();
+        for (final LocalDate date : dates) {
+            final WeatherForecast cached = this.cachedForecast(location, date, cacheKey(location, date));
+            forecasts.put(date, cached);  // keeps the map in date order
+            if (cached == null) missing.add(date);
+        }
+        if (missing.isEmpty()) return forecasts;
+        this.cacheMisses.increment(missing.size());
+
+        missing.removeIf(date -> {
+            final WeatherForecast stored = this.storedForecast(location, date, cacheKey(location, date));
+            if (stored != null) forecasts.put(date, stored);
+            return stored != null;
+        });
+        if (missing.isEmpty()) return forecasts;
+
+        // One upstream call for the span of the uncached days
+        final Map<LocalDate, WeatherForecast> fetched = this.loadForecastRange(location, missing.getFirst(), missing.getLast());
+        for (final LocalDate date : missing) {
+            forecasts.put(date, fetched != null
+                    ? fetched.get(date)
+                    : this.loadForecast(location, date, cacheKey(location, date)));
+        }
+        return forecasts;
+    }
+
+    /**
+     * One range call per (cell, from, to) at a time; the leader caches every day of the span before
+     * the flight ends.
+     *
+     * @return forecasts for every day of the span, or {@code null} if the weather service has no range
+     * endpoint
+     */
+    private Map<LocalDate, WeatherForecast> loadForecastRange(final Location location,
+                                                              final LocalDate from,
+                                                              final LocalDate to) {
+        final SingleFlight.Result<Map<LocalDate, WeatherForecast>> result = this.inFlightRanges.execute(
+                location.key() + '_' + from + '_' + to, () -> {
+                    final Map<LocalDate, WeatherForecast> fetched = this.fetchForecastRange(
+                            location.latitude(), location.longitude(), from, to);
+                    if (fetched == null) return null;
+
+                    // Days missing from the response are treated as unavailable
+                    final Map<LocalDate, WeatherForecast> forecasts = new HashMap<>();
+                    from.datesUntil(to.plusDays(1)).forEach(date -> {
+                        final WeatherForecast forecast = fetched.getOrDefault(date, createDefaultForecast(date));
+                        this.store(cacheKey(location, date), forecast);
+                        forecasts.put(date, forecast);
+                    });
+                    return forecasts;
+                });
+        if (result.shared()) {
+            this.coalescedCalls.increment();
+        }
+        return result.value();
+    }
+
+    @Override
+    public String cacheCell(final double latitude, final double longitude) {
+        return this.quantize(latitude, longitude).key();
+    }
+
+    private static String cacheKey(final Location location, final LocalDate date) {
+        return location.key() + '_' + date;
+    }
+
+    /**
+     * Looks up a forecast in the forecast cache and then in the fallback cache, counting the hit.
+     * Stale forecasts are returned and refreshed in the background.
+     */
+    private WeatherForecast cachedForecast(final Location location, final LocalDate date, final String cacheKey) {
+        final CachedForecast cached = this.unexpired(this.forecastCache.get(cacheKey, CachedForecast.class));
+        if (cached != null) {
+            if (cached.isOlderThan(this.softTtl, this.clock.instant())) {
+                this.staleHits.increment();
+                this.refreshInBackground(location, date, cacheKey);
+            } else {
+                this.cacheHits.increment();
+            }
+            return cached.forecast();
+        }
+        final WeatherForecast fallback = this.fallbackCache.get(cacheKey, WeatherForecast.class);
+        if (fallback != null) {
+            this.fallbackHits.increment();
+            return fallback;
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a forecast in the persistent store, promoting it to the forecast cache (with its
+     * original fetch time, so a stale one is refreshed in the background).
+     */
+    private WeatherForecast storedForecast(final Location location, final LocalDate date, final String cacheKey) {
+        final CachedForecast stored = this.unexpired(this.forecastStore.find(cacheKey).orElse(null));
+        if (stored == null) {
+            this.storeMisses.increment();
+            return null;
+        }
+        this.storeHits.increment();
+        this.forecastCache.put(cacheKey, stored);
+        if (stored.isOlderThan(this.softTtl, this.clock.instant())) {
+            this.refreshInBackground(location, date, cacheKey);
+        }
+        return stored.forecast();
+    }
+
+    private CachedForecast unexpired(final CachedForecast cached) {
+        return cached == null || cached.isOlderThan(this.hardTtl, this.clock.instant()) ? null : cached;
+    }
+
+    private void store(final String cacheKey, final WeatherForecast forecast) {
+        if (forecast.degraded()) {
+            this.fallbackCache.put(cacheKey, forecast);
+        } else {
+            final CachedForecast cached = new CachedForecast(forecast, this.clock.instant());
+            this.forecastCache.put(cacheKey, cached);
+            this.forecastStore.save(cacheKey, cached);
+        }
+    }
+
+    /**
+     * Starts a background refresh of a stale forecast, unless one is already running for the key.
+     */
+    private void refreshInBackground(final Location location, final LocalDate date, final String cacheKey) {
+        if (!this.refreshing.add(cacheKey)) return;
         try {
-            final String url = String.format(
-                    java.util.Locale.US,  // Use US locale to ensure dot (.) decimal separator
-                    "%s/api/v1/weather/forecast?latitude=%f&longitude=%f&date=%s",
-                    weatherServiceUrl,
-                    latitude,
-                    longitude,
-                    date.toString()
-            );
+            this.refreshExecutor.execute(() -> {
+                try {
+                    final WeatherForecast forecast = this.fetchForecast(location.latitude(), location.longitude(), date);
+                    // A degraded result would be worse than the stale forecast, which is kept
+                    if (forecast.degraded()) {
+                        this.refreshFailures.increment();
+                    } else {
+                        this.store(cacheKey, forecast);
+                        this.refreshSuccesses.increment();
+                    }
+                } catch (RuntimeException e) {
+                    this.refreshFailures.increment();
+                    LOGGER.warn("Weather forecast refresh failed for {}: {}", cacheKey, e.getMessage());
+                } finally {
+                    this.refreshing.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.refreshing.remove(cacheKey);
+            this.refreshRejections.increment();
+        }
+    }
+
+    private WeatherForecast loadForecast(final Location location, final LocalDate date, final String cacheKey) {
+        // One upstream call per key at a time; the leader fills the cache before the flight ends
+        final SingleFlight.Result<WeatherForecast> result = this.inFlightRequests.execute(cacheKey, () -> {
+            final WeatherForecast available = this.recheck(location, date, cacheKey);
+            if (available != null) return available;
+
+            final WeatherForecast forecast = this.fetchForecast(location.latitude(), location.longitude(), date);
+            this.store(cacheKey, forecast);
+            return forecast;
+        });
+        if (result.shared()) {
+            this.coalescedCalls.increment();
+        }
+        return result.value();
+    }
+
+    /**
+     * Flight leader's lookup before calling the weather service: a flight for the key may have
+     * completed since the cache check, or the forecast may be in the persistent store.
+     */
+    private WeatherForecast recheck(final Location location, final LocalDate date, final String cacheKey) {
+        final CachedForecast fresh = this.unexpired(this.forecastCache.get(cacheKey, CachedForecast.class));
+        if (fresh != null) return fresh.forecast();
+        final WeatherForecast freshFallback = this.fallbackCache.get(cacheKey, WeatherForecast.class);
+        if (freshFallback != null) return freshFallback;
+        return this.storedForecast(location, date, cacheKey);
+    }
+
+    private Location quantize(final double latitude, final double longitude) {
+        // Out-of-range coordinates are passed through as-is (the weather service rejects them)
+        if (this.geohashPrecision == 0 || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            return new Location(latitude + "_" + longitude, latitude, longitude);
+        }
+        final GeoHash.Cell cell = GeoHash.cell(latitude, longitude, this.geohashPrecision);
+        return new Location(cell.hash(), cell.centerLatitude(), cell.centerLongitude());
+    }
+
+    CircuitBreaker.State circuitState() {
+        return this.circuitBreaker.state();
+    }
+
+    private double hitRatio() {
+        final double hits = this.cacheHits.count();
+        final double total = hits + this.cacheMisses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private WeatherForecast fetchForecast(final double latitude, final double longitude, final LocalDate date) {
+        return this.guarded(
+                () -> this.callUpstream(latitude, longitude, date),
+                () -> createDefaultForecast(date));
+    }
+
+    /**
+     * @return forecasts by date, degraded ones if the call failed or was rejected, or {@code null} if
+     * the weather service has no range endpoint
+     */
+    private Map<LocalDate, WeatherForecast> fetchForecastRange(final double latitude,
+                                                               final double longitude,
+                                                               final LocalDate from,
+                                                               final LocalDate to) {
+        final Instant unsupportedUntil = this.rangeUnsupportedUntil;
+        if (unsupportedUntil != null && this.clock.instant().isBefore(unsupportedUntil)) return null;
+        return this.guarded(
+                () -> this.callRangeUpstream(latitude, longitude, from, to),
+                () -> createDefaultForecasts(from, to));
+    }
+
+    /**
+     * Runs an upstream call within the bulkhead and the circuit breaker, or returns {@code rejected}.
+     */
+    private <T> T guarded(final Supplier<T> call, final Supplier<T> rejected) {
+        if (!this.tryAcquire()) return rejected.get();
+        try {
+            return call.get();
+        } finally {
+            this.bulkhead.release();
+        }
+    }
+
+    /**
+     * Takes a bulkhead permit and the circuit breaker's permission for an upstream call, counting the
+     * rejection otherwise. On success the caller releases the bulkhead permit when the call completes.
+     */
+    private boolean tryAcquire() {
+        if (!this.bulkhead.tryAcquire()) {
+            this.bulkheadRejections.increment();
+            LOGGER.warn("Weather service bulkhead full, returning default forecast");
+            return false;
+        }
+        if (!this.circuitBreaker.tryAcquirePermission()) {
+            this.bulkhead.release();
+            this.circuitOpenRejections.increment();
+            LOGGER.debug("Weather service circuit open, returning default forecast");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reports a failed upstream call to the circuit breaker and logs it. Client errors (4xx) mean the
+     * service is up, so they do not count as failures; other statuses and calls without a response
+     * ({@code status} {@code null}: I/O errors, timeouts, unreadable bodies) do.
+     */
+    private void recordFailure(final String request, final Integer status, final String detail) {
+        if (status != null && status >= 400 && status < 500) {
+            this.circuitBreaker.onSuccess();
+            LOGGER.warn("Weather service rejected {} request: {}", request, detail);
+        } else {
+            this.circuitBreaker.onFailure();
+            LOGGER.error("Failed to fetch weather {}: {}", request, detail);
+        }
+    }
+
+    private static Integer status(final RestClientException e) {
+        return e instanceof RestClientResponseException response ? response.getStatusCode().value() : null;
+    }
+
+    /**
+     * Calls the weather service, reporting the outcome to the circuit breaker.
+     */
+    private WeatherForecast callUpstream(final double latitude, final double longitude, final LocalDate date) {
+        try {
+            final String url = this.forecastUrl(latitude, longitude, date);
 
             LOGGER.debug("Fetching weather forecast from: {}", url);
 
@@ -73,6 +588,8 @@ public class WeatherPortImpl implements WeatherPort {
                     .retrieve()
                     .body(WeatherForecastResponse.class);
 
+            this.circuitBreaker.onSuccess();
+
             if (response == null) {
                 LOGGER.warn("Received null response from weather service");
                 return createDefaultForecast(date);
@@ -81,27 +598,116 @@ public class WeatherPortImpl implements WeatherPort {
             LOGGER.info("Successfully fetched weather forecast for {} at ({}, {})",
                     date, latitude, longitude);
 
-            return new WeatherForecast(
-                    response.date(),
-                    response.temperatureMax(),
-                    response.temperatureMin(),
-                    response.precipitationSum(),
-                    response.weatherDescription()
-            );
+            return toForecast(response);
 
         } catch (RestClientException e) {
-            LOGGER.error("Failed to fetch weather forecast: {}", e.getMessage());
+            this.recordFailure("forecast", status(e), e.getMessage());
             return createDefaultForecast(date);
+        } catch (RuntimeException e) {
+            this.circuitBreaker.onFailure();
+            throw e;
+        }
+    }
+
+    private String forecastUrl(final double latitude, final double longitude, final LocalDate date) {
+        return String.format(
+                java.util.Locale.US,  // Use US locale to ensure dot (.) decimal separator
+                "%s/api/v1/weather/forecast?latitude=%f&longitude=%f&date=%s",
+                weatherServiceUrl,
+                latitude,
+                longitude,
+                date.toString()
+        );
+    }
+
+    /**
+     * {@link #fetchForecast} on the fan-out executor: same pooled client, bulkhead and circuit breaker.
+     */
+    private CompletableFuture<WeatherForecast> fetchForecastAsync(final double latitude,
+                                                                  final double longitude,
+                                                                  final LocalDate date) {
+        return CompletableFuture.supplyAsync(() -> this.fetchForecast(latitude, longitude, date), this.fanOutExecutor);
+    }
+
+    /**
+     * Calls the range endpoint ({@code from} / {@code to} inclusive, one element per day), reporting
+     * the outcome to the circuit breaker.
+     */
+    private Map<LocalDate, WeatherForecast> callRangeUpstream(final double latitude,
+                                                              final double longitude,
+                                                              final LocalDate from,
+                                                              final LocalDate to) {
+        try {
+            final String url = String.format(
+                    java.util.Locale.US,
+                    "%s/api/v1/weather/forecast/range?latitude=%f&longitude=%f&from=%s&to=%s",
+                    weatherServiceUrl,
+                    latitude,
+                    longitude,
+                    from,
+                    to
+            );
+
+            LOGGER.debug("Fetching weather forecast range from: {}", url);
+
+            final WeatherForecastResponse[] response = restClient
+                    .get()
+                    .uri(url)
+                    .retrieve()
+                    .body(WeatherForecastResponse[].class);
+
+            this.circuitBreaker.onSuccess();
+            this.rangeUnsupportedUntil = null;
+
+            final Map<LocalDate, WeatherForecast> forecasts = new HashMap<>();
+            if (response != null) {
+                for (final WeatherForecastResponse day : response) {
+                    if (day != null && day.date() != null) forecasts.put(day.date(), toForecast(day));
+                }
+            }
+            LOGGER.info("Fetched {} weather forecasts for {}..{} at ({}, {})",
+                    forecasts.size(), from, to, latitude, longitude);
+            return forecasts;
+
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+            this.circuitBreaker.onSuccess();
+            LOGGER.warn("Weather service has no forecast range endpoint, using single-day requests for {}",
+                    this.rangeReprobeInterval);
+            this.rangeUnsupportedUntil = this.clock.instant().plus(this.rangeReprobeInterval);
+            return null;
+        } catch (RestClientException e) {
+            this.recordFailure("forecast range", status(e), e.getMessage());
+            return createDefaultForecasts(from, to);
+        } catch (RuntimeException e) {
+            this.circuitBreaker.onFailure();
+            throw e;
         }
     }
 
+    private static WeatherForecast toForecast(final WeatherForecastResponse response) {
+        return new WeatherForecast(
+                response.date(),
+                response.temperatureMax(),
+                response.temperatureMin(),
+                response.precipitationSum(),
+                response.weatherDescription()
+        );
+    }
+
+    private Map<LocalDate, WeatherForecast> createDefaultForecasts(final LocalDate from, final LocalDate to) {
+        final Map<LocalDate, WeatherForecast> forecasts = new HashMap<>();
+        from.datesUntil(to.plusDays(1)).forEach(date -> forecasts.put(date, createDefaultForecast(date)));
+        return forecasts;
+    }
+
     private WeatherForecast createDefaultForecast(LocalDate date) {
         return new WeatherForecast(
                 date,
                 20.0,  // Default temp max
                 15.0,  // Default temp min
                 0.0,   // No precipitation
-                "Weather data unavailable"
+                "Weather data unavailable",
+                true
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package gr.hua.dit.fittrack.core.port.impl.dto;
+
+/**
+ * Geocoding result, as returned by the external geocoding service.
+ */
+public record GeocodingResult(
+        boolean found,
+        String name,
+        Double latitude,
+        Double longitude,
+        String error
+) {
+
+    public static GeocodingResult notFound(final String error) {
+        return new GeocodingResult(false, null, null, null, error);
+    }
+}
@@ -4,14 +4,26 @@ import java.time.LocalDate;
 
 /**
  * Weather forecast information.
+ *
+ * <p>{@code degraded} marks a placeholder returned while the weather service is disabled or failing,
+ * not real data.</p>
  */
 public record WeatherForecast(
         LocalDate date,
         Double temperatureMax,
         Double temperatureMin,
         Double precipitationSum,
-        String weatherDescription
+        String weatherDescription,
+        boolean degraded
 ) {
+    public WeatherForecast(final LocalDate date,
+                           final Double temperatureMax,
+                           final Double temperatureMin,
+                           final Double precipitationSum,
+                           final String weatherDescription) {
+        this(date, temperatureMax, temperatureMin, precipitationSum, weatherDescription, false);
+    }
+
     public boolean isSuitableForOutdoorTraining() {
         if (temperatureMax == null || temperatureMin == null || precipitationSum == null) {
             return true; // If no data, assume suitable
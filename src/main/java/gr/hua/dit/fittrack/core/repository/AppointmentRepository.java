@@ -5,17 +5,32 @@ import gr.hua.dit.fittrack.core.model.Appointment;
 import gr.hua.dit.fittrack.core.model.AppointmentStatus;
 
 import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.service.model.AppointmentConflictProbe;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSlot;
+import gr.hua.dit.fittrack.core.service.model.OutdoorAppointmentLocation;
+import gr.hua.dit.fittrack.core.service.model.UserActiveCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository for {@link Appointment} entity.
+ *
+ * <p>Methods returning appointments that are mapped to views load {@code user} and {@code trainer}
+ * in the same statement (entity graph / join fetch), so mapping a list costs one select.</p>
  */
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -29,11 +44,94 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Person> findDistinctUsersForTrainer(@Param("trainerId") Long trainerId,
                                              @Param("statuses") List<AppointmentStatus> statuses);
 
+    @EntityGraph(attributePaths = {"user", "trainer"})
+    @Override
+    List<Appointment> findAll();
+
+    @EntityGraph(attributePaths = {"user", "trainer"})
+    Optional<Appointment> findWithUserAndTrainerById(Long id);
+
+    @EntityGraph(attributePaths = {"user", "trainer"})
     List<Appointment> findAllByUserId(long userId);
 
+    @EntityGraph(attributePaths = {"user", "trainer"})
     List<Appointment> findAllByTrainerId(long trainerId);
 
+    /**
+     * Keyset page of a user's appointments ordered by {@code (scheduledAt, id)}, starting after
+     * {@code (afterScheduledAt, afterId)} (first page if {@code afterScheduledAt} is {@code null}).
+     */
+    @Query("""
+        select a
+        from Appointment a
+        join fetch a.user
+        join fetch a.trainer
+        where a.user.id = :userId
+          and a.status in :statuses
+          and a.scheduledAt is not null
+          and (:from is null or a.scheduledAt >= :from)
+          and (:to is null or a.scheduledAt < :to)
+          and (:afterScheduledAt is null
+               or a.scheduledAt > :afterScheduledAt
+               or (a.scheduledAt = :afterScheduledAt and a.id > :afterId))
+        order by a.scheduledAt, a.id
+    """)
+    List<Appointment> findPageByUserId(@Param("userId") long userId,
+                                       @Param("statuses") Set<AppointmentStatus> statuses,
+                                       @Param("from") Instant from,
+                                       @Param("to") Instant to,
+                                       @Param("afterScheduledAt") Instant afterScheduledAt,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
 
+    /**
+     * Keyset page of a trainer's appointments, see {@link #findPageByUserId}.
+     */
+    @Query("""
+        select a
+        from Appointment a
+        join fetch a.user
+        join fetch a.trainer
+        where a.trainer.id = :trainerId
+          and a.status in :statuses
+          and a.scheduledAt is not null
+          and (:from is null or a.scheduledAt >= :from)
+          and (:to is null or a.scheduledAt < :to)
+          and (:afterScheduledAt is null
+               or a.scheduledAt > :afterScheduledAt
+               or (a.scheduledAt = :afterScheduledAt and a.id > :afterId))
+        order by a.scheduledAt, a.id
+    """)
+    List<Appointment> findPageByTrainerId(@Param("trainerId") long trainerId,
+                                          @Param("statuses") Set<AppointmentStatus> statuses,
+                                          @Param("from") Instant from,
+                                          @Param("to") Instant to,
+                                          @Param("afterScheduledAt") Instant afterScheduledAt,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
+
+
+    /**
+     * Streams (JDBC cursor, read-only entities) the appointments created or changed (any transition,
+     * including cancellation) at or after {@code since} (all if {@code null}), ordered by id. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        select a
+        from Appointment a
+        join fetch a.user
+        join fetch a.trainer
+        where :since is null
+           or a.updatedAt >= :since
+        order by a.id
+    """)
+    Stream<Appointment> streamForExport(@Param("since") Instant since);
+
+    @EntityGraph(attributePaths = {"user", "trainer"})
     List<Appointment> findByStatusAndCreatedAtBefore(
             AppointmentStatus status,
             Instant before
@@ -70,4 +168,90 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             long trainerId,
             Set<AppointmentStatus> statuses
     );
-}
\ No newline at end of file
+
+    /**
+     * Find the time slots (ids only, no entity hydration) of all appointments in the given statuses.
+     */
+    @Query("""
+        select new gr.hua.dit.fittrack.core.service.model.AppointmentSlot(a.id, a.user.id, a.trainer.id, a.scheduledAt)
+        from Appointment a
+        where a.status in :statuses
+          and a.scheduledAt is not null
+    """)
+    List<AppointmentSlot> findSlotsByStatusIn(@Param("statuses") Set<AppointmentStatus> statuses);
+
+    /**
+     * Number of appointments in the given statuses per user (users without any are omitted).
+     */
+    @Query("""
+        select new gr.hua.dit.fittrack.core.service.model.UserActiveCount(a.user.id, count(a))
+        from Appointment a
+        where a.status in :statuses
+        group by a.user.id
+    """)
+    List<UserActiveCount> countActiveByUser(@Param("statuses") Set<AppointmentStatus> statuses);
+
+    /**
+     * Booking conflict check in a single round-trip: the id of any active user / trainer appointment
+     * starting within {@code (windowStart, windowEnd)}.
+     *
+     * <p>Only scalars are returned, no {@link Appointment} or {@link Person} is hydrated.</p>
+     */
+    @Query("""
+        select new gr.hua.dit.fittrack.core.service.model.AppointmentConflictProbe(
+            (select min(a.id) from Appointment a
+              where a.user.id = :userId
+                and a.status in :statuses
+                and a.scheduledAt > :windowStart
+                and a.scheduledAt < :windowEnd),
+            (select min(a.id) from Appointment a
+              where a.trainer.id = :trainerId
+                and a.status in :statuses
+                and a.scheduledAt > :windowStart
+                and a.scheduledAt < :windowEnd)
+        )
+        from Person p
+        where p.id = :userId
+    """)
+    AppointmentConflictProbe probeConflicts(@Param("userId") long userId,
+                                            @Param("trainerId") long trainerId,
+                                            @Param("statuses") Set<AppointmentStatus> statuses,
+                                            @Param("windowStart") Instant windowStart,
+                                            @Param("windowEnd") Instant windowEnd);
+
+    /**
+     * Find the active slots of a user and of a trainer starting within {@code (from, to)} in one query.
+     */
+    @Query("""
+        select new gr.hua.dit.fittrack.core.service.model.AppointmentSlot(a.id, a.user.id, a.trainer.id, a.scheduledAt)
+        from Appointment a
+        where (a.user.id = :userId or a.trainer.id = :trainerId)
+          and a.status in :statuses
+          and a.scheduledAt > :from
+          and a.scheduledAt < :to
+    """)
+    List<AppointmentSlot> findSlotsOfUserOrTrainerBetween(@Param("userId") long userId,
+                                                          @Param("trainerId") long trainerId,
+                                                          @Param("statuses") Set<AppointmentStatus> statuses,
+                                                          @Param("from") Instant from,
+                                                          @Param("to") Instant to);
+
+    /**
+     * Find the distinct locations and times of appointments of a training type scheduled within
+     * {@code [from, to)} (only those with coordinates).
+     */
+    @Query("""
+        select distinct new gr.hua.dit.fittrack.core.service.model.OutdoorAppointmentLocation(a.latitude, a.longitude, a.scheduledAt)
+        from Appointment a
+        where a.trainingType = :trainingType
+          and a.status in :statuses
+          and a.scheduledAt >= :from
+          and a.scheduledAt < :to
+          and a.latitude is not null
+          and a.longitude is not null
+    """)
+    List<OutdoorAppointmentLocation> findLocationsScheduledBetween(@Param("trainingType") TrainingType trainingType,
+                                                                   @Param("statuses") Set<AppointmentStatus> statuses,
+                                                                   @Param("from") Instant from,
+                                                                   @Param("to") Instant to);
+}
@@ -4,8 +4,11 @@ import gr.hua.dit.fittrack.core.model.Availability;
 import gr.hua.dit.fittrack.core.model.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface AvailabilityRepository extends JpaRepository<Availability, Long> {
     List<Availability> findByTrainer(Person trainer);
+
+    List<Availability> findByTrainerIdAndEndTimeAfterOrderByStartTime(Long trainerId, OffsetDateTime after);
 }
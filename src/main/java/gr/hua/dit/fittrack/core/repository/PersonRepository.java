@@ -2,9 +2,14 @@ package gr.hua.dit.fittrack.core.repository;
 
 import gr.hua.dit.fittrack.core.model.Person;
 import gr.hua.dit.fittrack.core.model.PersonType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +32,9 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
     boolean existsByEmailAddressIgnoreCase(final String emailAddress);
 
     boolean existsByUsernameIgnoreCase(final String username);
+
+    // Load and row-lock persons (ascending id order, so concurrent callers cannot deadlock)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Person p where p.id in :ids order by p.id")
+    List<Person> findAllByIdForUpdate(@Param("ids") final Collection<Long> ids);
 }
@@ -0,0 +1,262 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.service.model.UserActiveCount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory number of active (REQUESTED / CONFIRMED) appointments per user, used to enforce the
+ * max-active-appointments rule without a count query per booking.
+ *
+ * <p>Adjustments are applied when the surrounding transaction commits. The counter is loaded from
+ * the database on startup and periodically reconciled against it; every corrected user is counted
+ * in the {@code fittrack.booking.active_counter.drift} metric. As in {@link AppointmentIntervalIndex},
+ * the counts are queried without holding the lock and only used if no commit was in progress or
+ * completed meanwhile (version stamp), so bookings do not wait for the aggregate query.</p>
+ */
+@Component
+public class ActiveAppointmentCounter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActiveAppointmentCounter.class);
+
+    private static final Set<AppointmentStatus> ACTIVE = Set.of(AppointmentStatus.REQUESTED, AppointmentStatus.CONFIRMED);
+
+    // Database snapshots discarded because of concurrent commits before giving up (reconcile) or
+    // loading under the lock (rebuild)
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+
+    private final AppointmentRepository appointmentRepository;
+    private final Counter driftCorrections;
+
+    private final ConcurrentMap<Long, Long> counts = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    // Committing transactions hold the read lock from beforeCommit until their adjustments are applied,
+    // so a rebuild/reconciliation (write lock) never swaps or compares while an adjustment is pending.
+    private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+    // Incremented when a commit starts, an adjustment is applied or a commit completes; pendingCommits
+    // counts commits whose adjustments have not been applied yet.
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger pendingCommits = new AtomicInteger();
+
+    public ActiveAppointmentCounter(final AppointmentRepository appointmentRepository,
+                                    final MeterRegistry meterRegistry) {
+        if (appointmentRepository == null) throw new NullPointerException();
+        if (meterRegistry == null) throw new NullPointerException();
+
+        this.appointmentRepository = appointmentRepository;
+        this.driftCorrections = Counter.builder("fittrack.booking.active_counter.drift")
+                .description("Users whose cached active appointment count was corrected by reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("fittrack.booking.active_counter.users", this.counts, Map::size)
+                .description("Users with at least one active appointment")
+                .register(meterRegistry);
+    }
+
+    // Lookups
+    // --------------------------------------------------
+
+    /**
+     * Returns the number of active appointments of a user (from the database until the counter is loaded).
+     */
+    public long get(final long userId) {
+        if (!this.loaded) {
+            return this.appointmentRepository.countByUserIdAndStatusIn(userId, ACTIVE);
+        }
+        return this.counts.getOrDefault(userId, 0L);
+    }
+
+    // Updates (applied after the surrounding transaction commits)
+    // --------------------------------------------------
+
+    public void increment(final long userId) {
+        this.adjust(userId, 1);
+    }
+
+    public void decrement(final long userId) {
+        this.adjust(userId, -1);
+    }
+
+    public void adjust(final long userId, final long delta) {
+        if (delta == 0) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.reconcileLock.readLock().lock();
+            try {
+                this.apply(userId, delta);
+            } finally {
+                this.reconcileLock.readLock().unlock();
+            }
+            return;
+        }
+
+        // One synchronization per transaction, accumulating the deltas of all its transitions
+        @SuppressWarnings("unchecked")
+        Map<Long, Long> pending = (Map<Long, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            final Map<Long, Long> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked = false;
+
+                @Override
+                public void beforeCommit(final boolean readOnly) {
+                    reconcileLock.readLock().lock();
+                    this.locked = true;
+                    pendingCommits.incrementAndGet();
+                    version.incrementAndGet();
+                }
+
+                @Override
+                public void afterCommit() {
+                    deltas.forEach(ActiveAppointmentCounter.this::apply);
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ActiveAppointmentCounter.this);
+                    if (this.locked) {
+                        pendingCommits.decrementAndGet();
+                        version.incrementAndGet();
+                        reconcileLock.readLock().unlock();
+                    }
+                }
+            });
+            pending = deltas;
+        }
+        pending.merge(userId, delta, Long::sum);
+    }
+
+    private void apply(final long userId, final long delta) {
+        this.counts.compute(userId, (id, current) -> {
+            final long next = (current == null ? 0L : current) + delta;
+            return next > 0 ? next : null;
+        });
+        this.version.incrementAndGet();
+    }
+
+    // Rebuild & reconciliation
+    // --------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            // A commit in progress may or may not be in the snapshot, and its adjustment is not idempotent:
+            // only use a snapshot if no commit was in progress when it was taken and none started since
+            final long stamp = this.version.get();
+            final boolean quiet = this.pendingCommits.get() == 0;
+            final Map<Long, Long> expected = this.loadCounts();
+            this.reconcileLock.writeLock().lock();
+            try {
+                if (quiet && this.version.get() == stamp) {
+                    this.replace(expected);
+                    return;
+                }
+            } finally {
+                this.reconcileLock.writeLock().unlock();
+            }
+        }
+
+        // Commits kept interleaving with the snapshots
+        this.reconcileLock.writeLock().lock();
+        try {
+            this.replace(this.loadCounts());
+        } finally {
+            this.reconcileLock.writeLock().unlock();
+        }
+    }
+
+    private void replace(final Map<Long, Long> expected) {
+        this.counts.clear();
+        this.counts.putAll(expected);
+        this.version.incrementAndGet();
+        this.loaded = true;
+        LOGGER.info("Active appointment counter loaded for {} users", expected.size());
+    }
+
+    /**
+     * Compares the counter against the database and corrects the users that drifted.
+     *
+     * @return the number of corrected users (0 if the reconciliation was skipped because commits kept
+     * interleaving with it)
+     */
+    @Scheduled(
+            initialDelayString = "${fittrack.booking.counter-reconcile-interval:PT5M}",
+            fixedDelayString = "${fittrack.booking.counter-reconcile-interval:PT5M}"
+    )
+    public int reconcile() {
+        Integer corrections = null;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS && corrections == null; attempt++) {
+            final long stamp = this.version.get();
+            final boolean quiet = this.pendingCommits.get() == 0;
+            final Map<Long, Long> expected = this.loadCounts();
+            this.reconcileLock.writeLock().lock();
+            try {
+                if (quiet && this.version.get() == stamp) {
+                    corrections = this.correct(expected);
+                }
+            } finally {
+                this.reconcileLock.writeLock().unlock();
+            }
+        }
+        if (corrections == null) {
+            LOGGER.debug("Active appointment counter kept changing during reconciliation, skipped");
+            return 0;
+        }
+
+        if (corrections > 0) {
+            this.driftCorrections.increment(corrections);
+            LOGGER.warn("Active appointment counter drifted from database, corrected {} users", corrections);
+        }
+        return corrections;
+    }
+
+    private int correct(final Map<Long, Long> expected) {
+        int corrections = 0;
+        final Set<Long> userIds = new HashSet<>(expected.keySet());
+        userIds.addAll(this.counts.keySet());
+        for (final Long userId : userIds) {
+            final Long count = expected.get(userId);
+            if (!Objects.equals(count, this.counts.get(userId))) {
+                if (count == null) this.counts.remove(userId);
+                else this.counts.put(userId, count);
+                corrections++;
+            }
+        }
+        if (corrections > 0) this.version.incrementAndGet();
+        this.loaded = true;
+        return corrections;
+    }
+
+    private Map<Long, Long> loadCounts() {
+        final Map<Long, Long> result = new HashMap<>();
+        for (final UserActiveCount row : this.appointmentRepository.countActiveByUser(ACTIVE)) {
+            result.put(row.userId(), row.count());
+        }
+        return result;
+    }
+}
@@ -2,7 +2,11 @@ package gr.hua.dit.fittrack.core.service;
 
 import gr.hua.dit.fittrack.core.model.Appointment;
 import gr.hua.dit.fittrack.core.security.CurrentUser;
+import gr.hua.dit.fittrack.core.service.model.AppointmentPage;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSeriesResult;
 import gr.hua.dit.fittrack.core.service.model.CompleteAppointmentRequest;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentSeriesRequest;
 import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.ConfirmAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
@@ -21,12 +25,24 @@ public interface AppointmentBusinessLogicService {
 
     List<AppointmentView> getAppointments();
 
+    /**
+     * Keyset-paginated appointments of the current user / trainer, ordered by {@code (scheduledAt, id)}.
+     */
+    AppointmentPage getAppointments(final AppointmentQuery appointmentQuery);
+
     AppointmentView requestAppointment(final CreateAppointmentRequest createAppointmentRequest, final boolean notify);
 
     default AppointmentView requestAppointment(final CreateAppointmentRequest createAppointmentRequest) {
         return this.requestAppointment(createAppointmentRequest, true);
     }
 
+    /**
+     * Books a recurring series in one pass: every occurrence is validated against the user's and the
+     * trainer's timelines and the bookable ones are inserted together. Conflicting occurrences are
+     * reported instead of failing the whole series.
+     */
+    AppointmentSeriesResult requestAppointmentSeries(final CreateAppointmentSeriesRequest createAppointmentSeriesRequest);
+
     AppointmentView confirmAppointment(final ConfirmAppointmentRequest confirmAppointmentRequest);
 
     AppointmentView completeAppointment(final CompleteAppointmentRequest completeAppointmentRequest);
@@ -0,0 +1,23 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.service.model.AppointmentView;
+
+/**
+ * Thrown when an appointment transition loses against concurrent updates of the same appointment
+ * (retries exhausted, or the transition is no longer valid in the new state).
+ *
+ * <p>Carries the current (committed) state of the appointment, so callers can show it instead of retrying blindly.</p>
+ */
+public class AppointmentConflictException extends IllegalStateException {
+
+    private final AppointmentView current;
+
+    public AppointmentConflictException(final String message, final AppointmentView current, final Throwable cause) {
+        super(message, cause);
+        this.current = current;
+    }
+
+    public AppointmentView getCurrent() {
+        return current;
+    }
+}
@@ -2,7 +2,9 @@ package gr.hua.dit.fittrack.core.service;
 
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data service for appointment-related operations.
@@ -14,4 +16,14 @@ public interface AppointmentDataService {
      * @return list of all appointments
      */
     List<AppointmentView> getAllAppointments();
+
+    /**
+     * Streams the appointments created, confirmed or completed since the given instant to the consumer,
+     * one at a time and in id order, with bounded memory. Weather forecasts are not included.
+     *
+     * @param since lower bound of the appointment activity, or {@code null} for all appointments
+     * @param consumer receives each appointment
+     * @return the number of exported appointments
+     */
+    long exportAppointments(Instant since, Consumer<AppointmentView> consumer);
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSlot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of active (REQUESTED / CONFIRMED) appointment slots per trainer and per user.
+ *
+ * <p>Every timeline is a sorted set keyed by the epoch-second of {@code scheduledAt}, so an overlap
+ * check is a single {@code higher()} lookup (O(log n)) instead of loading and scanning all active
+ * appointments of a person. All appointments share the same fixed duration.</p>
+ *
+ * <p>The index is rebuilt from the database on startup, updated after each committed transition
+ * and periodically checked against {@link AppointmentRepository}. Rebuilds and checks load the
+ * database snapshot without holding the lock; a snapshot is only used if no update was pending or
+ * applied meanwhile (version stamp), so bookings are not blocked by the query and a commit whose
+ * index update is still pending is not mistaken for drift.</p>
+ */
+@Component
+public class AppointmentIntervalIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppointmentIntervalIndex.class);
+
+    private static final Set<AppointmentStatus> ACTIVE = Set.of(AppointmentStatus.REQUESTED, AppointmentStatus.CONFIRMED);
+
+    // Database snapshots discarded because of concurrent updates before giving up (check) or
+    // loading under the lock (rebuild)
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ConcurrentMap<Long, AppointmentSlot> slotsByAppointmentId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Entry>> trainerTimelines = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Entry>> userTimelines = new ConcurrentHashMap<>();
+
+    // Updates share the read lock (the maps are concurrent), rebuild/check take the write lock to
+    // replace / compare the content.
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    // Incremented when an update is registered, applied (under the lock) or its transaction completes;
+    // pendingUpdates counts registered updates whose transaction has not completed yet.
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+
+    public AppointmentIntervalIndex(final AppointmentRepository appointmentRepository) {
+        if (appointmentRepository == null) throw new NullPointerException();
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Timeline entry, ordered by start time and then by appointment id.
+     */
+    private record Entry(long startEpochSecond, long appointmentId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(final Entry other) {
+            final int byStart = Long.compare(this.startEpochSecond, other.startEpochSecond);
+            return byStart != 0 ? byStart : Long.compare(this.appointmentId, other.appointmentId);
+        }
+    }
+
+    // Lookups
+    // --------------------------------------------------
+
+    public Optional<Long> findTrainerOverlap(final long trainerId, final Instant start, final Duration duration) {
+        return findOverlap(this.trainerTimelines.get(trainerId), start, duration);
+    }
+
+    public Optional<Long> findUserOverlap(final long userId, final Instant start, final Duration duration) {
+        return findOverlap(this.userTimelines.get(userId), start, duration);
+    }
+
+    /**
+     * Returns the active slots of a trainer starting within {@code [from, to)}, ordered by start.
+     */
+    public List<AppointmentSlot> findTrainerSlots(final long trainerId, final Instant from, final Instant to) {
+        final NavigableSet<Entry> timeline = this.trainerTimelines.get(trainerId);
+        if (timeline == null) return List.of();
+        return timeline
+                .subSet(new Entry(from.getEpochSecond(), Long.MIN_VALUE), true,
+                        new Entry(to.getEpochSecond(), Long.MIN_VALUE), false)
+                .stream()
+                .map(entry -> this.slotsByAppointmentId.get(entry.appointmentId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static Optional<Long> findOverlap(final NavigableSet<Entry> timeline,
+                                              final Instant start,
+                                              final Duration duration) {
+        if (timeline == null || start == null) return Optional.empty();
+
+        // Two slots of equal duration overlap iff |existingStart - newStart| < duration
+        final long newStart = start.getEpochSecond();
+        final long durationSeconds = duration.getSeconds();
+        final Entry candidate = timeline.higher(new Entry(newStart - durationSeconds, Long.MAX_VALUE));
+        if (candidate != null && candidate.startEpochSecond() < newStart + durationSeconds) {
+            return Optional.of(candidate.appointmentId());
+        }
+        return Optional.empty();
+    }
+
+    // Updates (applied after the surrounding transaction commits)
+    // --------------------------------------------------
+
+    public void register(final AppointmentSlot slot) {
+        if (slot == null) throw new NullPointerException();
+        afterCommit(() -> this.add(slot));
+    }
+
+    public void unregister(final long appointmentId) {
+        afterCommit(() -> this.remove(appointmentId));
+    }
+
+    private void add(final AppointmentSlot slot) {
+        if (slot.scheduledAt() == null) return;
+        this.rebuildLock.readLock().lock();
+        try {
+            this.addUnlocked(slot);
+            this.version.incrementAndGet();
+        } finally {
+            this.rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void remove(final long appointmentId) {
+        this.rebuildLock.readLock().lock();
+        try {
+            final AppointmentSlot slot = this.slotsByAppointmentId.remove(appointmentId);
+            this.version.incrementAndGet();
+            if (slot == null) return;
+            final Entry entry = new Entry(slot.scheduledAt().getEpochSecond(), appointmentId);
+            removeEntry(this.trainerTimelines, slot.trainerId(), entry);
+            removeEntry(this.userTimelines, slot.userId(), entry);
+        } finally {
+            this.rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void addUnlocked(final AppointmentSlot slot) {
+        final Entry entry = new Entry(slot.scheduledAt().getEpochSecond(), slot.appointmentId());
+        this.slotsByAppointmentId.put(slot.appointmentId(), slot);
+        this.trainerTimelines.computeIfAbsent(slot.trainerId(), id -> new ConcurrentSkipListSet<>()).add(entry);
+        this.userTimelines.computeIfAbsent(slot.userId(), id -> new ConcurrentSkipListSet<>()).add(entry);
+    }
+
+    private static void removeEntry(final ConcurrentMap<Long, NavigableSet<Entry>> timelines,
+                                    final Long personId,
+                                    final Entry entry) {
+        final NavigableSet<Entry> timeline = timelines.get(personId);
+        if (timeline != null) timeline.remove(entry);
+    }
+
+    private void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        this.pendingUpdates.incrementAndGet();
+        this.version.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                AppointmentIntervalIndex.this.pendingUpdates.decrementAndGet();
+                AppointmentIntervalIndex.this.version.incrementAndGet();
+            }
+        });
+    }
+
+    // Rebuild & consistency check
+    // --------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            // Updates pending at the snapshot are applied afterwards (idempotently), so only the ones
+            // applied while it was loaded invalidate it
+            final long stamp = this.version.get();
+            final List<AppointmentSlot> slots = this.appointmentRepository.findSlotsByStatusIn(ACTIVE);
+            this.rebuildLock.writeLock().lock();
+            try {
+                if (this.version.get() == stamp) {
+                    this.replace(slots);
+                    return;
+                }
+            } finally {
+                this.rebuildLock.writeLock().unlock();
+            }
+        }
+
+        // Updates kept interleaving with the snapshots
+        this.rebuildLock.writeLock().lock();
+        try {
+            this.replace(this.appointmentRepository.findSlotsByStatusIn(ACTIVE));
+        } finally {
+            this.rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void replace(final List<AppointmentSlot> slots) {
+        this.slotsByAppointmentId.clear();
+        this.trainerTimelines.clear();
+        this.userTimelines.clear();
+        slots.forEach(this::addUnlocked);
+        this.version.incrementAndGet();
+        LOGGER.info("Appointment interval index rebuilt with {} active slots", slots.size());
+    }
+
+    /**
+     * Compares the index against the database and rebuilds it if they diverged.
+     *
+     * @return the number of mismatching slots found (0 if the check was skipped because the index
+     * kept changing)
+     */
+    @Scheduled(
+            initialDelayString = "${fittrack.booking.index-check-interval:PT10M}",
+            fixedDelayString = "${fittrack.booking.index-check-interval:PT10M}"
+    )
+    public int checkConsistency() {
+        Integer mismatches = null;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS && mismatches == null; attempt++) {
+            // A commit may be visible in the snapshot before its index update is applied: only compare
+            // if no update was pending when the snapshot was taken and none started since
+            final long stamp = this.version.get();
+            final boolean quiet = this.pendingUpdates.get() == 0;
+            final List<AppointmentSlot> slots = this.appointmentRepository.findSlotsByStatusIn(ACTIVE);
+            this.rebuildLock.writeLock().lock();
+            try {
+                if (quiet && this.version.get() == stamp) {
+                    mismatches = this.countMismatches(slots);
+                }
+            } finally {
+                this.rebuildLock.writeLock().unlock();
+            }
+        }
+        if (mismatches == null) {
+            LOGGER.debug("Appointment interval index kept changing during the consistency check, skipped");
+            return 0;
+        }
+
+        if (mismatches > 0) {
+            LOGGER.warn("Appointment interval index diverged from database ({} mismatching slots), rebuilding", mismatches);
+            this.rebuild();
+        }
+        return mismatches;
+    }
+
+    private int countMismatches(final List<AppointmentSlot> slots) {
+        final Map<Long, AppointmentSlot> expected = new HashMap<>();
+        for (final AppointmentSlot slot : slots) {
+            expected.put(slot.appointmentId(), slot);
+        }
+        int count = 0;
+        for (final Map.Entry<Long, AppointmentSlot> e : expected.entrySet()) {
+            if (!sameSlot(e.getValue(), this.slotsByAppointmentId.get(e.getKey()))) count++;
+        }
+        for (final Long appointmentId : this.slotsByAppointmentId.keySet()) {
+            if (!expected.containsKey(appointmentId)) count++;
+        }
+        return count;
+    }
+
+    private static boolean sameSlot(final AppointmentSlot a, final AppointmentSlot b) {
+        return b != null
+                && Objects.equals(a.userId(), b.userId())
+                && Objects.equals(a.trainerId(), b.trainerId())
+                && a.scheduledAt().getEpochSecond() == b.scheduledAt().getEpochSecond();
+    }
+}
@@ -0,0 +1,84 @@
+package gr.hua.dit.fittrack.core.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped in-process locks serializing bookings per person (trainer / user).
+ *
+ * <p>Bookings touching different stripes proceed in parallel. Stripes are always acquired in
+ * ascending index order, so two bookings sharing more than one stripe cannot deadlock. The locks
+ * are held until the surrounding transaction completes, i.e. until the new appointment is visible
+ * to the next booking of the same person.</p>
+ */
+@Component
+public class BookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final Duration timeout;
+
+    public BookingLocks(@Value("${fittrack.booking.lock-stripes:64}") final int stripeCount,
+                        @Value("${fittrack.booking.lock-timeout:PT5S}") final Duration timeout) {
+        if (stripeCount <= 0) throw new IllegalArgumentException("stripeCount must be positive");
+        if (timeout == null) throw new NullPointerException();
+
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Locks the stripes of the given person ids until the current transaction completes.
+     *
+     * @throws IllegalStateException if no transaction is active or the locks cannot be acquired in time
+     */
+    public void lockForTransaction(final long... personIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks require an active transaction");
+        }
+
+        final int[] indexes = Arrays.stream(personIds).mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for (final int index : indexes) {
+                if (!this.stripes[index].tryLock(this.timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Το σύστημα κρατήσεων είναι απασχολημένο. Παρακαλώ δοκιμάστε ξανά.");
+                }
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking lock", e);
+        } finally {
+            if (acquired < indexes.length) {
+                unlock(indexes, acquired);
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                unlock(indexes, indexes.length);
+            }
+        });
+    }
+
+    private void unlock(final int[] indexes, final int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            this.stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripeIndex(final long personId) {
+        return Math.floorMod(Long.hashCode(personId) * 0x9E3779B9, this.stripes.length);
+    }
+}
@@ -0,0 +1,42 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.service.model.TrainerFreeSlots;
+import gr.hua.dit.fittrack.core.service.model.TrainerSlotSearchResult;
+
+import java.time.Instant;
+
+/**
+ * Service for searching free appointment slots of trainers.
+ */
+public interface TrainerFreeSlotService {
+
+    /**
+     * Finds the next free appointment slots of a trainer.
+     *
+     * @param trainerId the trainer
+     * @param from earliest slot start
+     * @param to latest slot end (capped to the search horizon)
+     * @param count maximum number of slots to return
+     * @return the free slots in chronological order
+     * @throws TrainerNotFoundException if there is no trainer with this id
+     */
+    TrainerFreeSlots findFreeSlots(long trainerId, Instant from, Instant to, int count);
+
+    /**
+     * Finds the earliest free slots across all trainers (optionally only those whose specialisation
+     * contains the given text), ranked by start time. Trainers are evaluated in parallel; those not
+     * evaluated within the latency budget are left out and the result is marked partial.
+     *
+     * @param specialisation case-insensitive specialisation filter, or {@code null} for any trainer
+     * @param from earliest slot start
+     * @param to latest slot end (capped to the search horizon)
+     * @param count maximum number of matches to return
+     * @return the ranked matches
+     */
+    TrainerSlotSearchResult searchFreeSlots(String specialisation, Instant from, Instant to, int count);
+
+    /**
+     * Drops cached opening hours of a trainer (e.g. after an availability change).
+     */
+    void invalidate(long trainerId);
+}
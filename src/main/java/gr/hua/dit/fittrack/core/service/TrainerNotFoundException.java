@@ -0,0 +1,20 @@
+package gr.hua.dit.fittrack.core.service;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when the requested trainer does not exist (or the person is not a trainer).
+ */
+public class TrainerNotFoundException extends NoSuchElementException {
+
+    private final long trainerId;
+
+    public TrainerNotFoundException(final long trainerId) {
+        super("Trainer not found");
+        this.trainerId = trainerId;
+    }
+
+    public long getTrainerId() {
+        return trainerId;
+    }
+}
@@ -0,0 +1,156 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.port.WeatherPort;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.service.model.OutdoorAppointmentLocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms the weather forecast cache for upcoming outdoor appointments, so page renders and weather
+ * lookups hit the cache instead of waiting for the weather service.
+ *
+ * <p>Appointments of the next {@code days-ahead} days are grouped by forecast cache cell (as
+ * reported by {@link WeatherPort#cacheCell}); each cell is fetched with one range request. Requests
+ * are sent in batches of {@code batch-size} with {@code batch-pause} in between.</p>
+ */
+@Service
+public class WeatherPrefetchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WeatherPrefetchService.class);
+
+    private static final Set<AppointmentStatus> ACTIVE = Set.of(AppointmentStatus.REQUESTED, AppointmentStatus.CONFIRMED);
+
+    private final AppointmentRepository appointmentRepository;
+    private final WeatherPort weatherPort;
+    private final ExecutorService fanOutExecutor;
+    private final boolean enabled;
+    private final int daysAhead;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Clock clock;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public WeatherPrefetchService(final AppointmentRepository appointmentRepository,
+                                  final WeatherPort weatherPort,
+                                  @Qualifier("fanOutExecutor") final ExecutorService fanOutExecutor,
+                                  @Value("${fittrack.weather.prefetch.enabled:true}") final boolean enabled,
+                                  @Value("${fittrack.weather.prefetch.days-ahead:7}") final int daysAhead,
+                                  @Value("${fittrack.weather.prefetch.batch-size:10}") final int batchSize,
+                                  @Value("${fittrack.weather.prefetch.batch-pause:PT1S}") final Duration batchPause,
+                                  final Clock clock) {
+        if (appointmentRepository == null) throw new NullPointerException();
+        if (weatherPort == null) throw new NullPointerException();
+        if (fanOutExecutor == null) throw new NullPointerException();
+        if (daysAhead < 1 || daysAhead > WeatherPort.MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("daysAhead must be between 1 and " + WeatherPort.MAX_RANGE_DAYS);
+        }
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        if (batchPause == null) throw new NullPointerException();
+        if (clock == null) throw new NullPointerException();
+        this.appointmentRepository = appointmentRepository;
+        this.weatherPort = weatherPort;
+        this.fanOutExecutor = fanOutExecutor;
+        this.enabled = enabled;
+        this.daysAhead = daysAhead;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.clock = clock;
+    }
+
+    /**
+     * Forecast cache cell: a representative location and the dates to fetch there.
+     */
+    private record Cell(double latitude, double longitude, SortedSet<LocalDate> dates) {}
+
+    /**
+     * Starts a prefetch in the background (pauses between batches must not hold up the other
+     * scheduled jobs); skipped while the previous one is still running.
+     */
+    @Scheduled(
+            initialDelayString = "${fittrack.weather.prefetch.initial-delay:PT1M}",
+            fixedDelayString = "${fittrack.weather.prefetch.interval:PT30M}"
+    )
+    public void schedulePrefetch() {
+        if (!this.enabled) return;
+        this.fanOutExecutor.execute(this::prefetch);
+    }
+
+    /**
+     * Fetches the forecasts of the upcoming outdoor appointments.
+     *
+     * @return the number of (cell, date) forecasts requested, or -1 if a prefetch is already running
+     */
+    public int prefetch() {
+        if (!this.running.compareAndSet(false, true)) {
+            LOGGER.debug("Weather prefetch already running, skipping");
+            return -1;
+        }
+        try {
+            final List<Cell> cells = this.findCells();
+            int forecasts = 0;
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0 && i % this.batchSize == 0) {
+                    Thread.sleep(this.batchPause.toMillis());
+                }
+                final Cell cell = cells.get(i);
+                try {
+                    this.weatherPort.getForecasts(cell.latitude(), cell.longitude(), cell.dates().first(), cell.dates().last());
+                    forecasts += cell.dates().size();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Weather prefetch failed for ({}, {}): {}", cell.latitude(), cell.longitude(), e.getMessage());
+                }
+            }
+            LOGGER.info("Weather prefetch requested {} forecasts in {} locations", forecasts, cells.size());
+            return forecasts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            this.running.set(false);
+        }
+    }
+
+    private List<Cell> findCells() {
+        final LocalDate today = LocalDate.now(this.clock);
+        final ZoneId zone = this.clock.getZone();
+        final Instant from = this.clock.instant();
+        final Instant to = today.plusDays(this.daysAhead).atStartOfDay(zone).toInstant();
+
+        final Map<String, Cell> cells = new LinkedHashMap<>();
+        for (final OutdoorAppointmentLocation location : this.appointmentRepository.findLocationsScheduledBetween(
+                TrainingType.OUTDOOR_TRAINING, ACTIVE, from, to)) {
+            final double latitude = location.latitude();
+            final double longitude = location.longitude();
+            final String key = this.weatherPort.cacheCell(latitude, longitude);
+            cells.computeIfAbsent(key, k -> new Cell(latitude, longitude, new TreeSet<>()))
+                    .dates()
+                    .add(LocalDate.ofInstant(location.scheduledAt(), zone));
+        }
+        // days-ahead <= MAX_RANGE_DAYS, so the dates of a cell always fit in one range request
+        return new ArrayList<>(cells.values());
+    }
+}
@@ -1,35 +1,57 @@
 package gr.hua.dit.fittrack.core.service.impl;
 
 import gr.hua.dit.fittrack.core.model.*;
-import gr.hua.dit.fittrack.core.port.WeatherPort;
-import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+import gr.hua.dit.fittrack.core.port.AsyncWeatherPort;
 import gr.hua.dit.fittrack.core.repository.PersonRepository;
 import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
 import gr.hua.dit.fittrack.core.security.CurrentUser;
 import gr.hua.dit.fittrack.core.security.CurrentUserProvider;
+import gr.hua.dit.fittrack.core.service.ActiveAppointmentCounter;
 import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentConflictException;
+import gr.hua.dit.fittrack.core.service.AppointmentIntervalIndex;
+import gr.hua.dit.fittrack.core.service.BookingLocks;
 
 import gr.hua.dit.fittrack.core.service.mapper.AppointmentMapper;
 import gr.hua.dit.fittrack.core.service.model.CompleteAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentSeriesRequest;
 import gr.hua.dit.fittrack.core.service.model.ConfirmAppointmentRequest;
+import gr.hua.dit.fittrack.core.service.model.AppointmentConflictProbe;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSeriesOccurrence;
+import gr.hua.dit.fittrack.core.service.model.AppointmentCursor;
+import gr.hua.dit.fittrack.core.service.model.AppointmentPage;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSeriesResult;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSlot;
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
 
-import jakarta.persistence.EntityNotFoundException;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Default implementation of {@link AppointmentBusinessLogicService}.
@@ -47,28 +69,60 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
     // Each appointment has a duration of 1 hour
     private static final long APPOINTMENT_DURATION_HOURS = 1;
 
+    private static final Duration APPOINTMENT_DURATION = Duration.ofHours(APPOINTMENT_DURATION_HOURS);
+
+    private static final String USER_OVERLAP_MESSAGE =
+            "Έχετε ήδη ραντεβού σε αυτή την ώρα. Κάθε ραντεβού διαρκεί 1 ώρα και δεν μπορείτε να έχετε επικαλυπτόμενα ραντεβού.";
+
+    private static final String TRAINER_OVERLAP_MESSAGE =
+            "Ο προπονητής έχει ήδη ραντεβού σε αυτή την ώρα. Κάθε ραντεβού διαρκεί 1 ώρα. Παρακαλώ επιλέξτε άλλη ώρα.";
+
     private final AppointmentMapper appointmentMapper;
     private final AppointmentRepository appointmentRepository;
     private final PersonRepository personRepository;
     private final CurrentUserProvider currentUserProvider;
-    private final WeatherPort weatherPort;
+    private final AsyncWeatherPort weatherPort;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final ActiveAppointmentCounter activeAppointmentCounter;
+    private final BookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final int transitionMaxAttempts;
+    private final Duration transitionBackoff;
 
     public AppointmentBusinessLogicServiceImpl(final AppointmentMapper appointmentMapper,
                                                final AppointmentRepository appointmentRepository,
                                                final PersonRepository personRepository,
                                                final CurrentUserProvider currentUserProvider,
-                                               final WeatherPort weatherPort) {
+                                               final AsyncWeatherPort weatherPort,
+                                               final AppointmentIntervalIndex appointmentIntervalIndex,
+                                               final ActiveAppointmentCounter activeAppointmentCounter,
+                                               final BookingLocks bookingLocks,
+                                               final PlatformTransactionManager transactionManager,
+                                               @Value("${fittrack.booking.transition-max-attempts:3}") final int transitionMaxAttempts,
+                                               @Value("${fittrack.booking.transition-backoff:PT0.05S}") final Duration transitionBackoff) {
         if (appointmentMapper == null) throw new NullPointerException();
         if (appointmentRepository == null) throw new NullPointerException();
         if (personRepository == null) throw new NullPointerException();
         if (currentUserProvider == null) throw new NullPointerException();
         if (weatherPort == null) throw new NullPointerException();
+        if (appointmentIntervalIndex == null) throw new NullPointerException();
+        if (activeAppointmentCounter == null) throw new NullPointerException();
+        if (bookingLocks == null) throw new NullPointerException();
+        if (transactionManager == null) throw new NullPointerException();
+        if (transitionMaxAttempts <= 0) throw new IllegalArgumentException("transitionMaxAttempts must be positive");
+        if (transitionBackoff == null) throw new NullPointerException();
 
         this.appointmentMapper = appointmentMapper;
         this.appointmentRepository = appointmentRepository;
         this.personRepository = personRepository;
         this.currentUserProvider = currentUserProvider;
         this.weatherPort = weatherPort;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
+        this.activeAppointmentCounter = activeAppointmentCounter;
+        this.bookingLocks = bookingLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transitionMaxAttempts = transitionMaxAttempts;
+        this.transitionBackoff = transitionBackoff;
     }
 
     @Override
@@ -82,10 +136,8 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
 
         // --------------------------------------------------
 
-        final Appointment appointment;
-        try {
-            appointment = this.appointmentRepository.getReferenceById(id);
-        } catch (EntityNotFoundException ignored) {
+        final Appointment appointment = this.appointmentRepository.findWithUserAndTrainerById(id).orElse(null);
+        if (appointment == null) {
             return Optional.empty();
         }
 
@@ -119,9 +171,37 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
             default -> throw new SecurityException("Unsupported PersonType: " + currentUser.type());
         }
 
-        return appointmentList.stream()
-                .map(this.appointmentMapper::convertAppointmentToAppointmentView)
-                .toList();
+        return this.appointmentMapper.convertAppointmentsToAppointmentViews(appointmentList);
+    }
+
+    @Override
+    public AppointmentPage getAppointments(final AppointmentQuery query) {
+        if (query == null) throw new NullPointerException();
+        if (query.limit() <= 0 || query.limit() > AppointmentQuery.MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + AppointmentQuery.MAX_LIMIT);
+        }
+
+        final CurrentUser currentUser = this.currentUserProvider.requireCurrentUser();
+        final AppointmentCursor after = query.cursor() == null ? null : AppointmentCursor.decode(query.cursor());
+
+        // Fetch one extra row to know whether there is a next page
+        final Limit limit = Limit.of(query.limit() + 1);
+        final Instant afterScheduledAt = after == null ? null : after.scheduledAt();
+        final Long afterId = after == null ? null : after.id();
+        final List<Appointment> appointmentList = switch (currentUser.type()) {
+            case TRAINER -> this.appointmentRepository.findPageByTrainerId(
+                    currentUser.id(), query.statusesOrAll(), query.from(), query.to(), afterScheduledAt, afterId, limit);
+            case USER -> this.appointmentRepository.findPageByUserId(
+                    currentUser.id(), query.statusesOrAll(), query.from(), query.to(), afterScheduledAt, afterId, limit);
+            default -> throw new SecurityException("Unsupported PersonType: " + currentUser.type());
+        };
+
+        final boolean hasNext = appointmentList.size() > query.limit();
+        final List<Appointment> page = hasNext ? appointmentList.subList(0, query.limit()) : appointmentList;
+        final Appointment last = page.isEmpty() ? null : page.get(page.size() - 1);
+        final String nextCursor = hasNext ? new AppointmentCursor(last.getScheduledAt(), last.getId()).encode() : null;
+
+        return new AppointmentPage(this.appointmentMapper.convertAppointmentsToAppointmentViews(page), nextCursor);
     }
 
     @Transactional
@@ -137,86 +217,25 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
 
         // --------------------------------------------------
 
-        final Person user = this.personRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        final Person trainer = this.personRepository.findById(trainerId)
-                .orElseThrow(() -> new IllegalArgumentException("Trainer not found"));
-
-        if (user.getType() != PersonType.USER) {
-            throw new IllegalArgumentException("userId must refer to a USER");
-        }
-        if (trainer.getType() != PersonType.TRAINER) {
-            throw new IllegalArgumentException("trainerId must refer to a TRAINER");
-        }
-
-        // --------------------------------------------------
-
-        final CurrentUser currentUser = this.currentUserProvider.requireCurrentUser();
-        if (currentUser.type() != PersonType.USER) {
-            throw new SecurityException("USER type required");
-        }
-        if (currentUser.id() != userId) {
-            throw new SecurityException("Authenticated user does not match the appointment's userId");
-        }
+        this.requireBookingUser(userId);
 
         // Business rules
         // --------------------------------------------------
 
-        // 1. Max active appointments per user (maximum 5)
-        final long activeCount = this.appointmentRepository.countByUserIdAndStatusIn(userId, ACTIVE);
-
-        if (activeCount >= MAX_ACTIVE_APPOINTMENTS) {
-            throw new IllegalStateException("Έχετε φτάσει το μέγιστο όριο των " + MAX_ACTIVE_APPOINTMENTS + " ενεργών ραντεβού.");
-        }
+        final Instant scheduledAt = request.scheduledAt();
 
-        // 2. Appointment date cannot be in the past
-        if (request.scheduledAt() != null && request.scheduledAt().isBefore(Instant.now())) {
+        // Appointment date cannot be in the past
+        if (scheduledAt != null && scheduledAt.isBefore(Instant.now())) {
             throw new IllegalArgumentException("Cannot schedule appointments in the past");
         }
 
-        // 3. Prevent overlapping appointments for the user
-        // Each appointment has a duration of 1 hour
-        if (request.scheduledAt() != null) {
-            final Instant newAppointmentStart = request.scheduledAt();
-            final Instant newAppointmentEnd = newAppointmentStart.plusSeconds(APPOINTMENT_DURATION_HOURS * 3600);
-
-            // Find all active appointments for this user that have a scheduled time
-            final List<Appointment> userActiveAppointments =
-                    this.appointmentRepository.findByUserIdAndStatusInAndScheduledAtIsNotNull(userId, ACTIVE);
-
-            // Check if any existing appointment overlaps with the new one
-            for (Appointment existingAppointment : userActiveAppointments) {
-                final Instant existingStart = existingAppointment.getScheduledAt();
-                final Instant existingEnd = existingStart.plusSeconds(APPOINTMENT_DURATION_HOURS * 3600);
-
-                // Two appointments overlap if:
-                // newStart < existingEnd AND newEnd > existingStart
-                if (newAppointmentStart.isBefore(existingEnd) && newAppointmentEnd.isAfter(existingStart)) {
-                    throw new IllegalStateException("Έχετε ήδη ραντεβού σε αυτή την ώρα. Κάθε ραντεβού διαρκεί 1 ώρα και δεν μπορείτε να έχετε επικαλυπτόμενα ραντεβού.");
-                }
+        // Fast path: reject overlaps already known to the in-memory index without touching the database
+        if (scheduledAt != null) {
+            if (this.appointmentIntervalIndex.findUserOverlap(userId, scheduledAt, APPOINTMENT_DURATION).isPresent()) {
+                throw new IllegalStateException(USER_OVERLAP_MESSAGE);
             }
-        }
-
-        // 4. Prevent overlapping appointments for the trainer
-        // Each appointment has a duration of 1 hour
-        if (request.scheduledAt() != null) {
-            final Instant newAppointmentStart = request.scheduledAt();
-            final Instant newAppointmentEnd = newAppointmentStart.plusSeconds(APPOINTMENT_DURATION_HOURS * 3600);
-
-            // Find all active appointments for this trainer that have a scheduled time
-            final List<Appointment> trainerActiveAppointments =
-                    this.appointmentRepository.findByTrainerIdAndStatusInAndScheduledAtIsNotNull(trainerId, ACTIVE);
-
-            // Check if any existing appointment overlaps with the new one
-            for (Appointment existingAppointment : trainerActiveAppointments) {
-                final Instant existingStart = existingAppointment.getScheduledAt();
-                final Instant existingEnd = existingStart.plusSeconds(APPOINTMENT_DURATION_HOURS * 3600);
-
-                // Two appointments overlap if:
-                // newStart < existingEnd AND newEnd > existingStart
-                if (newAppointmentStart.isBefore(existingEnd) && newAppointmentEnd.isAfter(existingStart)) {
-                    throw new IllegalStateException("Ο προπονητής έχει ήδη ραντεβού σε αυτή την ώρα. Κάθε ραντεβού διαρκεί 1 ώρα. Παρακαλώ επιλέξτε άλλη ώρα.");
-                }
+            if (this.appointmentIntervalIndex.findTrainerOverlap(trainerId, scheduledAt, APPOINTMENT_DURATION).isPresent()) {
+                throw new IllegalStateException(TRAINER_OVERLAP_MESSAGE);
             }
         }
 
@@ -232,26 +251,61 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
                     ZoneId.systemDefault()
             );
 
-            final WeatherForecast forecast = weatherPort.getForecast(
-                    request.latitude(),
-                    request.longitude(),
-                    appointmentDate
-            );
-
-            if (!forecast.isSuitableForOutdoorTraining()) {
-                LOGGER.warn("Weather may not be suitable for outdoor training on {}: {}",
-                        appointmentDate, forecast);
-                // You can either:
-                // 1. Just warn (current approach)
-                // 2. Throw exception to block appointment
-                // 3. Add warning to user notes
+            // Only logged, so the booking does not wait for (or fail with) the weather service
+            try {
+                weatherPort.getForecastAsync(
+                        request.latitude(),
+                        request.longitude(),
+                        appointmentDate
+                ).whenComplete((forecast, failure) -> {
+                    if (failure != null) {
+                        LOGGER.warn("Weather check failed for outdoor training on {}: {}", appointmentDate, failure.toString());
+                    } else if (!forecast.isSuitableForOutdoorTraining()) {
+                        LOGGER.warn("Weather may not be suitable for outdoor training on {}: {}",
+                                appointmentDate, forecast);
+                        // You can either:
+                        // 1. Just warn (current approach)
+                        // 2. Throw exception to block appointment
+                        // 3. Add warning to user notes
+                    }
+                });
+            } catch (RuntimeException e) {
+                LOGGER.warn("Weather check failed for outdoor training on {}: {}", appointmentDate, e.toString());
             }
         }
 
+        // Critical section: serialize bookings of the same trainer / user until the transaction completes
+        // --------------------------------------------------
+        final Participants participants = this.lockParticipants(userId, trainerId);
+
+        // 1. Max active appointments per user (maximum 5)
+        // The counter is exact here: adjustments are applied on commit, before the user's lock is released
+        if (this.activeAppointmentCounter.get(userId) >= MAX_ACTIVE_APPOINTMENTS) {
+            throw new IllegalStateException("Έχετε φτάσει το μέγιστο όριο των " + MAX_ACTIVE_APPOINTMENTS + " ενεργών ραντεβού.");
+        }
+
+        // Authoritative overlap check in a single round-trip (user overlap, trainer overlap)
+        // Each appointment has a duration of 1 hour: two appointments overlap if
+        // existingStart lies in (newStart - 1h, newStart + 1h)
+        final Instant windowStart = scheduledAt != null ? scheduledAt.minus(APPOINTMENT_DURATION) : Instant.EPOCH;
+        final Instant windowEnd = scheduledAt != null ? scheduledAt.plus(APPOINTMENT_DURATION) : Instant.EPOCH;
+        final AppointmentConflictProbe probe =
+                this.appointmentRepository.probeConflicts(userId, trainerId, ACTIVE, windowStart, windowEnd);
+
+        // 2. Prevent overlapping appointments for the user
+        if (probe.hasUserConflict()) {
+            throw new IllegalStateException(USER_OVERLAP_MESSAGE);
+        }
+
+        // 3. Prevent overlapping appointments for the trainer
+        if (probe.hasTrainerConflict()) {
+            throw new IllegalStateException(TRAINER_OVERLAP_MESSAGE);
+        }
+
         // --------------------------------------------------
         final Appointment appointment = new Appointment();
-        appointment.setUser(user);
-        appointment.setTrainer(trainer);
+        appointment.setUser(participants.user());
+        appointment.setTrainer(participants.trainer());
         appointment.setStatus(AppointmentStatus.REQUESTED);
         appointment.setTrainingType(trainingType);
         appointment.setUserNotes(userNotes);
@@ -261,17 +315,240 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
         appointment.setCreatedAt(Instant.now());
 
         final Appointment savedAppointment = this.appointmentRepository.save(appointment);
+        this.appointmentIntervalIndex.register(new AppointmentSlot(
+                savedAppointment.getId(), userId, trainerId, savedAppointment.getScheduledAt()));
+        this.activeAppointmentCounter.increment(userId);
+
         final AppointmentView appointmentView = this.appointmentMapper.convertAppointmentToAppointmentView(savedAppointment);
 
         return appointmentView;
     }
 
-
     @Transactional
+    @Override
+    public AppointmentSeriesResult requestAppointmentSeries(@Valid final CreateAppointmentSeriesRequest request) {
+        if (request == null) throw new NullPointerException();
+
+        // --------------------------------------------------
+        final long userId = request.userId();
+        final long trainerId = request.trainerId();
+        final int occurrences = request.occurrences();
+        if (occurrences <= 0) throw new IllegalArgumentException("occurrences must be positive");
+
+        this.requireBookingUser(userId);
+
+        // Same local time every N weeks (ZonedDateTime keeps the wall-clock time across DST changes)
+        // --------------------------------------------------
+        final ZonedDateTime first = request.firstScheduledAt().atZone(ZoneId.systemDefault());
+        final List<Instant> slots = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            slots.add(first.plusWeeks((long) i * request.intervalWeeksOrDefault()).toInstant());
+        }
+
+        // Critical section (see requestAppointment)
+        // --------------------------------------------------
+        final Participants participants = this.lockParticipants(userId, trainerId);
+
+        // Load both timelines for the whole series span in one query
+        final List<AppointmentSlot> existingSlots = this.appointmentRepository.findSlotsOfUserOrTrainerBetween(
+                userId,
+                trainerId,
+                ACTIVE,
+                slots.get(0).minus(APPOINTMENT_DURATION),
+                slots.get(slots.size() - 1).plus(APPOINTMENT_DURATION));
+        final NavigableSet<Long> userTimeline = new TreeSet<>();
+        final NavigableSet<Long> trainerTimeline = new TreeSet<>();
+        for (final AppointmentSlot slot : existingSlots) {
+            if (slot.userId() == userId) userTimeline.add(slot.scheduledAt().getEpochSecond());
+            if (slot.trainerId() == trainerId) trainerTimeline.add(slot.scheduledAt().getEpochSecond());
+        }
+        long activeCount = this.activeAppointmentCounter.get(userId);
+
+        // Validate every occurrence in one pass
+        // --------------------------------------------------
+        final Instant now = Instant.now();
+        final String[] conflicts = new String[occurrences];
+        final List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < occurrences; i++) {
+            final Instant scheduledAt = slots.get(i);
+            final long start = scheduledAt.getEpochSecond();
+            if (scheduledAt.isBefore(now)) {
+                conflicts[i] = "Cannot schedule appointments in the past";
+            } else if (activeCount >= MAX_ACTIVE_APPOINTMENTS) {
+                conflicts[i] = "Έχετε φτάσει το μέγιστο όριο των " + MAX_ACTIVE_APPOINTMENTS + " ενεργών ραντεβού.";
+            } else if (overlaps(userTimeline, start)) {
+                conflicts[i] = USER_OVERLAP_MESSAGE;
+            } else if (overlaps(trainerTimeline, start)) {
+                conflicts[i] = TRAINER_OVERLAP_MESSAGE;
+            } else {
+                userTimeline.add(start);
+                trainerTimeline.add(start);
+                activeCount++;
+
+                final Appointment appointment = new Appointment();
+                appointment.setUser(participants.user());
+                appointment.setTrainer(participants.trainer());
+                appointment.setStatus(AppointmentStatus.REQUESTED);
+                appointment.setTrainingType(request.trainingType());
+                appointment.setUserNotes(request.userNotes());
+                appointment.setScheduledAt(scheduledAt);
+                appointment.setLatitude(request.latitude());
+                appointment.setLongitude(request.longitude());
+                appointment.setCreatedAt(now);
+                appointments.add(appointment);
+            }
+        }
+
+        // Insert the bookable occurrences together
+        // (ids come from the pooled sequence, so Hibernate can send the inserts as a JDBC batch)
+        // --------------------------------------------------
+        final List<Appointment> savedAppointments = this.appointmentRepository.saveAll(appointments);
+        for (final Appointment savedAppointment : savedAppointments) {
+            this.appointmentIntervalIndex.register(new AppointmentSlot(
+                    savedAppointment.getId(), userId, trainerId, savedAppointment.getScheduledAt()));
+        }
+        this.activeAppointmentCounter.adjust(userId, savedAppointments.size());
+
+        final List<AppointmentSeriesOccurrence> results = new ArrayList<>(occurrences);
+        int bookedIndex = 0;
+        for (int i = 0; i < occurrences; i++) {
+            if (conflicts[i] != null) {
+                results.add(new AppointmentSeriesOccurrence(
+                        slots.get(i), AppointmentSeriesOccurrence.Status.CONFLICT, null, conflicts[i]));
+            } else {
+                results.add(new AppointmentSeriesOccurrence(
+                        slots.get(i), AppointmentSeriesOccurrence.Status.BOOKED, savedAppointments.get(bookedIndex++).getId(), null));
+            }
+        }
+
+        return new AppointmentSeriesResult(savedAppointments.size(), occurrences - savedAppointments.size(), results);
+    }
+
+    // Booking helpers
+    // --------------------------------------------------
+
+    private record Participants(Person user, Person trainer) {}
+
+    private void requireBookingUser(final long userId) {
+        final CurrentUser currentUser = this.currentUserProvider.requireCurrentUser();
+        if (currentUser.type() != PersonType.USER) {
+            throw new SecurityException("USER type required");
+        }
+        if (currentUser.id() != userId) {
+            throw new SecurityException("Authenticated user does not match the appointment's userId");
+        }
+    }
+
+    /**
+     * Serializes bookings of the same trainer / user until the current transaction completes.
+     *
+     * <p>In-process striped locks keep same-node bookings from queuing on database row locks,
+     * the pessimistic row locks on both persons guard against other nodes.</p>
+     */
+    private Participants lockParticipants(final long userId, final long trainerId) {
+        this.bookingLocks.lockForTransaction(trainerId, userId);
+
+        final List<Person> persons = this.personRepository.findAllByIdForUpdate(List.of(userId, trainerId));
+        final Person user = persons.stream()
+                .filter(person -> person.getId() == userId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        final Person trainer = persons.stream()
+                .filter(person -> person.getId() == trainerId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Trainer not found"));
+
+        if (user.getType() != PersonType.USER) {
+            throw new IllegalArgumentException("userId must refer to a USER");
+        }
+        if (trainer.getType() != PersonType.TRAINER) {
+            throw new IllegalArgumentException("trainerId must refer to a TRAINER");
+        }
+        return new Participants(user, trainer);
+    }
+
+    private static boolean overlaps(final NavigableSet<Long> timeline, final long start) {
+        final Long candidate = timeline.higher(start - APPOINTMENT_DURATION.getSeconds());
+        return candidate != null && candidate < start + APPOINTMENT_DURATION.getSeconds();
+    }
+
+    // State transitions
+    // --------------------------------------------------
+
     @Override
     public AppointmentView confirmAppointment(@Valid final ConfirmAppointmentRequest request) {
         if (request == null) throw new NullPointerException();
+        return this.executeTransition(request.id(), () -> this.doConfirmAppointment(request));
+    }
+
+    @Override
+    public AppointmentView completeAppointment(@Valid final CompleteAppointmentRequest request) {
+        if (request == null) throw new NullPointerException();
+        return this.executeTransition(request.id(), () -> this.doCompleteAppointment(request));
+    }
+
+    @Override
+    public AppointmentView cancelAppointment(final Long appointmentId) {
+        if (appointmentId == null) throw new NullPointerException("Appointment id cannot be null");
+        if (appointmentId <= 0) throw new IllegalArgumentException("Appointment id must be positive");
+        return this.executeTransition(appointmentId, () -> this.doCancelAppointment(appointmentId));
+    }
+
+    /**
+     * Runs a read-check-write state transition in its own transaction.
+     *
+     * <p>{@link Appointment} is versioned, so a concurrent transition of the same appointment makes the
+     * commit fail instead of silently overwriting it. The transition is then retried (re-reading and
+     * re-validating the current state) with bounded exponential backoff. If the re-validation fails
+     * (the concurrent transition made this one invalid, e.g. confirm after cancel) or the attempts are
+     * exhausted, an {@link AppointmentConflictException} carrying the current state is thrown.</p>
+     */
+    private AppointmentView executeTransition(final long appointmentId, final Supplier<AppointmentView> transition) {
+        OptimisticLockingFailureException lastConflict = null;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return this.transactionTemplate.execute(status -> transition.get());
+            } catch (IllegalArgumentException e) {
+                if (lastConflict == null) throw e;
+                LOGGER.debug("Appointment {} transition no longer valid after a concurrent update: {}",
+                        appointmentId, e.getMessage());
+                throw this.conflict(appointmentId, e);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= this.transitionMaxAttempts) {
+                    LOGGER.warn("Appointment {} transition failed after {} attempts due to concurrent updates",
+                            appointmentId, attempt);
+                    throw this.conflict(appointmentId, e);
+                }
+                lastConflict = e;
+                LOGGER.debug("Concurrent update of appointment {} (attempt {}), retrying", appointmentId, attempt);
+                backoff(attempt);
+            }
+        }
+    }
 
+    private AppointmentConflictException conflict(final long appointmentId, final RuntimeException cause) {
+        final AppointmentView current = this.transactionTemplate.execute(status ->
+                this.appointmentRepository.findById(appointmentId)
+                        .map(this.appointmentMapper::convertAppointmentToAppointmentView)
+                        .orElse(null));
+        return new AppointmentConflictException(
+                "Το ραντεβού τροποποιήθηκε ταυτόχρονα από άλλον χρήστη. Παρακαλώ ανανεώστε και δοκιμάστε ξανά.",
+                current,
+                cause);
+    }
+
+    private void backoff(final int attempt) {
+        final long baseMillis = this.transitionBackoff.toMillis() << (attempt - 1);
+        final long jitterMillis = ThreadLocalRandom.current().nextLong(baseMillis + 1);
+        try {
+            Thread.sleep(baseMillis + jitterMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying appointment transition", e);
+        }
+    }
+
+    private AppointmentView doConfirmAppointment(final ConfirmAppointmentRequest request) {
         // --------------------------------------------------
         final long appointmentId = request.id();
 
@@ -305,11 +582,7 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
         return appointmentView;
     }
 
-    @Transactional
-    @Override
-    public AppointmentView completeAppointment(@Valid final CompleteAppointmentRequest request) {
-        if (request == null) throw new NullPointerException();
-
+    private AppointmentView doCompleteAppointment(final CompleteAppointmentRequest request) {
         // --------------------------------------------------
         final long appointmentId = request.id();
         final String trainerNotes = request.trainerNotes();
@@ -342,17 +615,14 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
         appointment.setCompletedAt(Instant.now());
 
         final Appointment savedAppointment = this.appointmentRepository.save(appointment);
+        this.appointmentIntervalIndex.unregister(savedAppointment.getId());
+        this.activeAppointmentCounter.decrement(savedAppointment.getUser().getId());
         final AppointmentView appointmentView = this.appointmentMapper.convertAppointmentToAppointmentView(savedAppointment);
 
         return appointmentView;
     }
 
-    @Transactional
-    @Override
-    public AppointmentView cancelAppointment(final Long appointmentId) {
-        if (appointmentId == null) throw new NullPointerException("Appointment id cannot be null");
-        if (appointmentId <= 0) throw new IllegalArgumentException("Appointment id must be positive");
-
+    private AppointmentView doCancelAppointment(final long appointmentId) {
         // --------------------------------------------------
         final Appointment appointment = this.appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment does not exist"));
@@ -380,6 +650,8 @@ public class AppointmentBusinessLogicServiceImpl implements AppointmentBusinessL
         appointment.setStatus(AppointmentStatus.CANCELLED);
 
         final Appointment savedAppointment = this.appointmentRepository.save(appointment);
+        this.appointmentIntervalIndex.unregister(savedAppointment.getId());
+        this.activeAppointmentCounter.decrement(savedAppointment.getUser().getId());
         final AppointmentView appointmentView = this.appointmentMapper.convertAppointmentToAppointmentView(savedAppointment);
 
         return appointmentView;
@@ -6,9 +6,16 @@ import gr.hua.dit.fittrack.core.service.AppointmentDataService;
 import gr.hua.dit.fittrack.core.service.mapper.AppointmentMapper;
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of {@link AppointmentDataService}.
@@ -16,24 +23,53 @@ import java.util.List;
 @Service
 public class AppointmentDataServiceImpl implements AppointmentDataService {
 
+    // Exported entities are dropped from the persistence context every EXPORT_CLEAR_INTERVAL rows
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
     private final AppointmentRepository appointmentRepository;
     private final AppointmentMapper appointmentMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     public AppointmentDataServiceImpl(final AppointmentRepository appointmentRepository,
-                                      final AppointmentMapper appointmentMapper) {
+                                      final AppointmentMapper appointmentMapper,
+                                      final EntityManager entityManager,
+                                      final PlatformTransactionManager transactionManager) {
         if (appointmentRepository == null) throw new NullPointerException();
         if (appointmentMapper == null) throw new NullPointerException();
+        if (entityManager == null) throw new NullPointerException();
+        if (transactionManager == null) throw new NullPointerException();
 
         this.appointmentRepository = appointmentRepository;
         this.appointmentMapper = appointmentMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
     public List<AppointmentView> getAllAppointments() {
         final List<Appointment> appointmentList = this.appointmentRepository.findAll();
-        return appointmentList
-                .stream()
-                .map(this.appointmentMapper::convertAppointmentToAppointmentView)
-                .toList();
+        return this.appointmentMapper.convertAppointmentsToAppointmentViews(appointmentList);
+    }
+
+    @Override
+    public long exportAppointments(final Instant since, final Consumer<AppointmentView> consumer) {
+        if (consumer == null) throw new NullPointerException();
+
+        final Long exported = this.readOnlyTransactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<Appointment> appointments = this.appointmentRepository.streamForExport(since)) {
+                final Iterator<Appointment> iterator = appointments.iterator();
+                while (iterator.hasNext()) {
+                    consumer.accept(this.appointmentMapper.convertAppointmentToAppointmentView(iterator.next(), false));
+                    if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                        this.entityManager.clear();
+                    }
+                }
+            }
+            return count;
+        });
+        return exported == null ? 0 : exported;
     }
-}
\ No newline at end of file
+}
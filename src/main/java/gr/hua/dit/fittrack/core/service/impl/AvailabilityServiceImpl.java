@@ -4,6 +4,7 @@ import gr.hua.dit.fittrack.core.model.Availability;
 import gr.hua.dit.fittrack.core.model.Person;
 import gr.hua.dit.fittrack.core.repository.AvailabilityRepository;
 import gr.hua.dit.fittrack.core.service.AvailabilityService;
+import gr.hua.dit.fittrack.core.service.TrainerFreeSlotService;
 import gr.hua.dit.fittrack.core.service.mapper.AvailabilityMapper;
 import gr.hua.dit.fittrack.core.service.model.AvailabilityRequest;
 import gr.hua.dit.fittrack.core.service.model.AvailabilityResponse;
@@ -16,10 +17,14 @@ import java.util.List;
 public class AvailabilityServiceImpl implements AvailabilityService {
     private final AvailabilityRepository repository;
     private final AvailabilityMapper mapper;
+    private final TrainerFreeSlotService trainerFreeSlotService;
 
-    public AvailabilityServiceImpl(AvailabilityRepository repository, AvailabilityMapper mapper) {
+    public AvailabilityServiceImpl(AvailabilityRepository repository,
+                                   AvailabilityMapper mapper,
+                                   TrainerFreeSlotService trainerFreeSlotService) {
         this.repository = repository;
         this.mapper = mapper;
+        this.trainerFreeSlotService = trainerFreeSlotService;
     }
 
     @Override
@@ -40,6 +45,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             throw new IllegalArgumentException("This slot overlaps with existing availability");
 
         Availability saved = repository.save(mapper.toEntity(dto, trainer));
+        trainerFreeSlotService.invalidate(trainer.getId());
         return mapper.toResponseDto(saved);
     }
 
@@ -63,6 +69,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         existing.setStartTime(dto.startTime());
         existing.setEndTime(dto.endTime());
         repository.save(existing);
+        trainerFreeSlotService.invalidate(trainer.getId());
     }
 
     @Override
@@ -81,6 +88,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             return "Error: Availability not found";
 
         repository.delete(existing);
+        trainerFreeSlotService.invalidate(trainer.getId());
         return "Deleted";
     }
 }
@@ -0,0 +1,342 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.Availability;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.repository.AvailabilityRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.service.AppointmentIntervalIndex;
+import gr.hua.dit.fittrack.core.service.TrainerFreeSlotService;
+import gr.hua.dit.fittrack.core.service.TrainerNotFoundException;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSlot;
+import gr.hua.dit.fittrack.core.service.model.FreeSlot;
+import gr.hua.dit.fittrack.core.service.model.TrainerFreeSlots;
+import gr.hua.dit.fittrack.core.service.model.TrainerSlotMatch;
+import gr.hua.dit.fittrack.core.service.model.TrainerSlotSearchResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link TrainerFreeSlotService}.
+ *
+ * <p>Each search builds a bitmap calendar of 15-minute buckets (one bit per bucket, set = free) from
+ * the trainer's opening hours and clears the buckets covered by active appointments taken from the
+ * {@link AppointmentIntervalIndex}. Free 1-hour slots are then runs of at least 4 set bits. Opening
+ * hours are cached per trainer, so a warm search touches no database at all.</p>
+ *
+ * <p>Opening hours of a day are the trainer's {@link Availability} ranges on that day, or the default
+ * working hours if the trainer published none for that day and it is one of their working days.</p>
+ *
+ * <p>Cross-trainer searches evaluate every trainer's calendar in parallel on virtual threads and
+ * return whatever completed within the latency budget.</p>
+ */
+@Service
+public class TrainerFreeSlotServiceImpl implements TrainerFreeSlotService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainerFreeSlotServiceImpl.class);
+
+    private static final long BUCKET_SECONDS = Duration.ofMinutes(15).getSeconds();
+
+    // Each appointment has a duration of 1 hour
+    private static final long APPOINTMENT_SECONDS = Duration.ofHours(1).getSeconds();
+    private static final int APPOINTMENT_BUCKETS = (int) (APPOINTMENT_SECONDS / BUCKET_SECONDS);
+
+    private static final int MAX_COUNT = 100;
+
+    private final PersonRepository personRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final int dayStartHour;
+    private final int dayEndHour;
+    private final int horizonDays;
+    private final int stepBuckets;
+    private final Duration openingHoursTtl;
+    private final ExecutorService fanOutExecutor;
+    private final Duration searchBudget;
+
+    private final ConcurrentMap<Long, OpeningHours> openingHoursCache = new ConcurrentHashMap<>();
+
+    public TrainerFreeSlotServiceImpl(final PersonRepository personRepository,
+                                      final AvailabilityRepository availabilityRepository,
+                                      final AppointmentIntervalIndex appointmentIntervalIndex,
+                                      @Value("${fittrack.slots.day-start-hour:9}") final int dayStartHour,
+                                      @Value("${fittrack.slots.day-end-hour:21}") final int dayEndHour,
+                                      @Value("${fittrack.slots.horizon-days:28}") final int horizonDays,
+                                      @Value("${fittrack.slots.step:PT30M}") final Duration step,
+                                      @Value("${fittrack.slots.opening-hours-ttl:PT1M}") final Duration openingHoursTtl,
+                                      @Qualifier("fanOutExecutor") final ExecutorService fanOutExecutor,
+                                      @Value("${fittrack.slots.search-budget:PT0.5S}") final Duration searchBudget) {
+        if (personRepository == null) throw new NullPointerException();
+        if (availabilityRepository == null) throw new NullPointerException();
+        if (appointmentIntervalIndex == null) throw new NullPointerException();
+        if (dayStartHour < 0 || dayEndHour > 24 || dayStartHour >= dayEndHour) {
+            throw new IllegalArgumentException("Invalid default working hours");
+        }
+        if (horizonDays <= 0) throw new IllegalArgumentException("horizonDays must be positive");
+        if (step == null || step.getSeconds() < BUCKET_SECONDS || step.getSeconds() % BUCKET_SECONDS != 0) {
+            throw new IllegalArgumentException("step must be a positive multiple of 15 minutes");
+        }
+        if (openingHoursTtl == null) throw new NullPointerException();
+        if (fanOutExecutor == null) throw new NullPointerException();
+        if (searchBudget == null) throw new NullPointerException();
+
+        this.personRepository = personRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
+        this.dayStartHour = dayStartHour;
+        this.dayEndHour = dayEndHour;
+        this.horizonDays = horizonDays;
+        this.stepBuckets = (int) (step.getSeconds() / BUCKET_SECONDS);
+        this.openingHoursTtl = openingHoursTtl;
+        this.fanOutExecutor = fanOutExecutor;
+        this.searchBudget = searchBudget;
+    }
+
+    private record Range(long startEpochSecond, long endEpochSecond) {}
+
+    private record OpeningHours(Set<DayOfWeek> workingDays, List<Range> availability, Instant loadedAt) {}
+
+    @Override
+    public TrainerFreeSlots findFreeSlots(final long trainerId, final Instant from, final Instant to, final int count) {
+        if (from == null) throw new NullPointerException("from cannot be null");
+        if (count <= 0 || count > MAX_COUNT) throw new IllegalArgumentException("count must be between 1 and " + MAX_COUNT);
+
+        final OpeningHours openingHours = this.openingHours(trainerId);
+
+        // Calendar boundaries
+        // --------------------------------------------------
+        final ZoneId zone = ZoneId.systemDefault();
+        final Instant now = Instant.now();
+        final long effectiveFrom = ceilToBucket((from.isAfter(now) ? from : now).getEpochSecond());
+        final LocalDate firstDay = LocalDate.ofInstant(Instant.ofEpochSecond(effectiveFrom), zone);
+        final long base = firstDay.atStartOfDay(zone).toEpochSecond();
+        final long horizonEnd = firstDay.plusDays(this.horizonDays).atStartOfDay(zone).toEpochSecond();
+        final long end = to == null ? horizonEnd : Math.min(to.getEpochSecond(), horizonEnd);
+        if (end - effectiveFrom < APPOINTMENT_SECONDS) {
+            return new TrainerFreeSlots(trainerId, List.of());
+        }
+
+        final int bucketCount = (int) ((end - base) / BUCKET_SECONDS);
+        final BitSet free = new BitSet(bucketCount);
+
+        // 1. Opening hours
+        // --------------------------------------------------
+        for (LocalDate day = firstDay; day.atStartOfDay(zone).toEpochSecond() < end; day = day.plusDays(1)) {
+            final long dayStart = day.atStartOfDay(zone).toEpochSecond();
+            final long dayEnd = day.plusDays(1).atStartOfDay(zone).toEpochSecond();
+
+            boolean hasAvailability = false;
+            for (final Range range : openingHours.availability()) {
+                if (range.startEpochSecond() < dayEnd && range.endEpochSecond() > dayStart) {
+                    hasAvailability = true;
+                    markFree(free, base, bucketCount,
+                            Math.max(range.startEpochSecond(), dayStart), Math.min(range.endEpochSecond(), dayEnd));
+                }
+            }
+            if (!hasAvailability && openingHours.workingDays().contains(day.getDayOfWeek())) {
+                markFree(free, base, bucketCount,
+                        day.atTime(this.dayStartHour, 0).atZone(zone).toEpochSecond(),
+                        this.dayEndHour == 24 ? dayEnd : day.atTime(this.dayEndHour, 0).atZone(zone).toEpochSecond());
+            }
+        }
+
+        // 2. Active appointments
+        // --------------------------------------------------
+        final List<AppointmentSlot> bookedSlots = this.appointmentIntervalIndex.findTrainerSlots(
+                trainerId, Instant.ofEpochSecond(base - APPOINTMENT_SECONDS), Instant.ofEpochSecond(end));
+        for (final AppointmentSlot slot : bookedSlots) {
+            final long start = slot.scheduledAt().getEpochSecond();
+            markBooked(free, base, bucketCount, start, start + APPOINTMENT_SECONDS);
+        }
+
+        // 3. Runs of free buckets, slot starts aligned to the step
+        // --------------------------------------------------
+        final List<FreeSlot> slots = new ArrayList<>(count);
+        int bucket = free.nextSetBit((int) ((effectiveFrom - base) / BUCKET_SECONDS));
+        while (bucket >= 0 && slots.size() < count) {
+            final int runEnd = free.nextClearBit(bucket);
+            final int alignedStart = ((bucket + this.stepBuckets - 1) / this.stepBuckets) * this.stepBuckets;
+            for (int start = alignedStart; start + APPOINTMENT_BUCKETS <= runEnd && slots.size() < count; start += this.stepBuckets) {
+                final long startEpochSecond = base + start * BUCKET_SECONDS;
+                slots.add(new FreeSlot(
+                        Instant.ofEpochSecond(startEpochSecond),
+                        Instant.ofEpochSecond(startEpochSecond + APPOINTMENT_SECONDS)));
+            }
+            bucket = free.nextSetBit(runEnd);
+        }
+
+        return new TrainerFreeSlots(trainerId, slots);
+    }
+
+    @Override
+    public TrainerSlotSearchResult searchFreeSlots(final String specialisation,
+                                                   final Instant from,
+                                                   final Instant to,
+                                                   final int count) {
+        if (from == null) throw new NullPointerException("from cannot be null");
+        if (count <= 0 || count > MAX_COUNT) throw new IllegalArgumentException("count must be between 1 and " + MAX_COUNT);
+
+        final long deadline = System.nanoTime() + this.searchBudget.toNanos();
+
+        final String filter = specialisation == null || specialisation.isBlank()
+                ? null
+                : specialisation.trim().toLowerCase(Locale.ROOT);
+        final List<Person> trainers = this.personRepository.findAllByTypeOrderByLastName(PersonType.TRAINER)
+                .stream()
+                .filter(t -> filter == null
+                        || (t.getSpecialisation() != null && t.getSpecialisation().toLowerCase(Locale.ROOT).contains(filter)))
+                .toList();
+
+        // Fan out: one calendar per trainer, each needs at most `count` slots
+        // --------------------------------------------------
+        final List<Future<TrainerFreeSlots>> futures = trainers.stream()
+                .map(t -> this.fanOutExecutor.submit(() -> this.findFreeSlots(t.getId(), from, to, count)))
+                .toList();
+
+        for (final Future<TrainerFreeSlots> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.warn("Free slot search exceeded its {} budget, returning partial results", this.searchBudget);
+                break;
+            } catch (ExecutionException e) {
+                // Failed trainers are skipped below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Collect what completed (interrupting the rest), rank by start time
+        // --------------------------------------------------
+        final List<TrainerSlotMatch> matches = new ArrayList<>();
+        int searched = 0;
+        for (int i = 0; i < trainers.size(); i++) {
+            final Future<TrainerFreeSlots> future = futures.get(i);
+            if (future.state() != Future.State.SUCCESS) {
+                if (future.state() == Future.State.FAILED) {
+                    LOGGER.warn("Free slot search failed for trainer {}", trainers.get(i).getId());
+                }
+                future.cancel(true);
+                continue;
+            }
+            searched++;
+            final Person trainer = trainers.get(i);
+            for (final FreeSlot slot : future.resultNow().slots()) {
+                matches.add(new TrainerSlotMatch(
+                        trainer.getId(), trainer.getFirstName(), trainer.getLastName(), trainer.getSpecialisation(), slot));
+            }
+        }
+
+        final List<TrainerSlotMatch> ranked = matches.stream()
+                .sorted(Comparator.comparing((TrainerSlotMatch m) -> m.slot().start())
+                        .thenComparing(TrainerSlotMatch::lastName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(TrainerSlotMatch::trainerId))
+                .limit(count)
+                .toList();
+
+        return new TrainerSlotSearchResult(ranked, searched, trainers.size(), searched < trainers.size());
+    }
+
+    @Override
+    public void invalidate(final long trainerId) {
+        this.openingHoursCache.remove(trainerId);
+    }
+
+    // Opening hours
+    // --------------------------------------------------
+
+    private OpeningHours openingHours(final long trainerId) {
+        final OpeningHours cached = this.openingHoursCache.get(trainerId);
+        if (cached != null && cached.loadedAt().plus(this.openingHoursTtl).isAfter(Instant.now())) {
+            return cached;
+        }
+
+        final Person trainer = this.personRepository.findById(trainerId)
+                .filter(person -> person.getType() == PersonType.TRAINER)
+                .orElseThrow(() -> new TrainerNotFoundException(trainerId));
+
+        final List<Range> availability = this.availabilityRepository
+                .findByTrainerIdAndEndTimeAfterOrderByStartTime(trainerId, OffsetDateTime.now())
+                .stream()
+                .map(a -> new Range(a.getStartTime().toEpochSecond(), a.getEndTime().toEpochSecond()))
+                .toList();
+
+        final OpeningHours openingHours = new OpeningHours(parseWorkingDays(trainer.getWorkingDays()), availability, Instant.now());
+        this.openingHoursCache.put(trainerId, openingHours);
+        return openingHours;
+    }
+
+    /**
+     * Parses "1,2,4,5" (1=Monday, 7=Sunday). No working days defined means every day.
+     *
+     * @throws IllegalArgumentException if a day is not a number from 1 to 7
+     */
+    private static Set<DayOfWeek> parseWorkingDays(final String workingDays) {
+        if (workingDays == null || workingDays.isBlank()) {
+            return EnumSet.allOf(DayOfWeek.class);
+        }
+        try {
+            return Arrays.stream(workingDays.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(s -> DayOfWeek.of(Integer.parseInt(s)))
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(DayOfWeek.class)));
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid working days: " + workingDays, e);
+        }
+    }
+
+    // Bitmap helpers
+    // --------------------------------------------------
+
+    private static long ceilToBucket(final long epochSecond) {
+        return Math.floorDiv(epochSecond + BUCKET_SECONDS - 1, BUCKET_SECONDS) * BUCKET_SECONDS;
+    }
+
+    /**
+     * Marks the buckets fully inside {@code [start, end)} as free.
+     */
+    private static void markFree(final BitSet bits, final long base, final int bucketCount, final long start, final long end) {
+        final int from = (int) Math.max(0, Math.floorDiv(start - base + BUCKET_SECONDS - 1, BUCKET_SECONDS));
+        final int to = (int) Math.min(bucketCount, Math.floorDiv(end - base, BUCKET_SECONDS));
+        if (from < to) bits.set(from, to);
+    }
+
+    /**
+     * Marks every bucket touching {@code [start, end)} as booked.
+     */
+    private static void markBooked(final BitSet bits, final long base, final int bucketCount, final long start, final long end) {
+        final int from = (int) Math.max(0, Math.floorDiv(start - base, BUCKET_SECONDS));
+        final int to = (int) Math.min(bucketCount, Math.floorDiv(end - base + BUCKET_SECONDS - 1, BUCKET_SECONDS));
+        if (from < to) bits.clear(from, to);
+    }
+}
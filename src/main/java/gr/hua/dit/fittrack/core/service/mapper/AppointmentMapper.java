@@ -3,15 +3,33 @@ package gr.hua.dit.fittrack.core.service.mapper;
 import gr.hua.dit.fittrack.core.model.Appointment;
 
 import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.port.AsyncWeatherPort;
 import gr.hua.dit.fittrack.core.port.WeatherPort;
 import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
 
 import gr.hua.dit.fittrack.core.service.model.PersonView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Mapper to convert {@link Appointment} to {@link AppointmentView}.
@@ -19,25 +37,155 @@ import java.time.ZoneId;
 @Component
 public class AppointmentMapper {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppointmentMapper.class);
+
     private final PersonMapper personMapper;
     private final WeatherPort weatherPort;
+    private final AsyncWeatherPort asyncWeatherPort;
+    private final ExecutorService fanOutExecutor;
+    private final Duration weatherDeadline;
 
-    public AppointmentMapper(final PersonMapper personMapper, WeatherPort weatherPort) {
+    public AppointmentMapper(final PersonMapper personMapper,
+                             final WeatherPort weatherPort,
+                             final AsyncWeatherPort asyncWeatherPort,
+                             @Qualifier("fanOutExecutor") final ExecutorService fanOutExecutor,
+                             @Value("${fittrack.weather.list-enrichment-deadline:PT1.5S}") final Duration weatherDeadline) {
         if (personMapper == null) throw new NullPointerException();
         if (weatherPort == null) throw new NullPointerException();
+        if (asyncWeatherPort == null) throw new NullPointerException();
+        if (fanOutExecutor == null) throw new NullPointerException();
+        if (weatherDeadline == null) throw new NullPointerException();
         this.personMapper = personMapper;
         this.weatherPort = weatherPort;
+        this.asyncWeatherPort = asyncWeatherPort;
+        this.fanOutExecutor = fanOutExecutor;
+        this.weatherDeadline = weatherDeadline;
     }
 
+    /**
+     * Forecast lookup key: one weather call per distinct location and day.
+     */
+    private record WeatherKey(double latitude, double longitude, LocalDate date) {}
+
+    private record WeatherLocation(double latitude, double longitude) {}
+
     public AppointmentView convertAppointmentToAppointmentView(final Appointment appointment) {
+        return this.convertAppointmentToAppointmentView(appointment, true);
+    }
+
+    /**
+     * @param includeWeather whether to look up the forecast of outdoor appointments (one weather call
+     *                       each, left out if not available within the list deadline)
+     */
+    public AppointmentView convertAppointmentToAppointmentView(final Appointment appointment, final boolean includeWeather) {
         if (appointment == null) {
             return null;
         }
 
-        PersonView userView = personMapper.convertPersonToPersonView(appointment.getUser());
-        PersonView trainerView = personMapper.convertPersonToPersonView(appointment.getTrainer());
-
         WeatherForecast forecast = null;
+        final WeatherKey weatherKey = includeWeather ? weatherKey(appointment) : null;
+        if (weatherKey != null) {
+            try {
+                forecast = asyncWeatherPort.getForecastAsync(
+                        weatherKey.latitude(),
+                        weatherKey.longitude(),
+                        weatherKey.date()
+                ).completeOnTimeout(null, this.weatherDeadline.toNanos(), TimeUnit.NANOSECONDS).join();
+            } catch (Exception e) {
+                // Log but don't fail the mapping
+                LOGGER.warn("Weather enrichment failed for appointment {} at ({}, {}) on {}",
+                        appointment.getId(), weatherKey.latitude(), weatherKey.longitude(), weatherKey.date(), e);
+                forecast = null;
+            }
+        }
+
+        return this.toView(appointment, forecast);
+    }
+
+    /**
+     * Converts a list of appointments, fetching the forecasts of its outdoor appointments concurrently,
+     * one range lookup per distinct location covering its dates. Forecasts not available within the
+     * list deadline are left out ({@code weatherForecast == null}) instead of delaying the whole list.
+     */
+    public List<AppointmentView> convertAppointmentsToAppointmentViews(final List<Appointment> appointments) {
+        if (appointments == null) throw new NullPointerException();
+
+        // Distinct forecast lookups, one per location
+        // --------------------------------------------------
+        final Map<WeatherLocation, SortedSet<LocalDate>> datesByLocation = new LinkedHashMap<>();
+        for (final Appointment appointment : appointments) {
+            final WeatherKey key = weatherKey(appointment);
+            if (key != null) {
+                datesByLocation
+                        .computeIfAbsent(new WeatherLocation(key.latitude(), key.longitude()), l -> new TreeSet<>())
+                        .add(key.date());
+            }
+        }
+        final Map<WeatherLocation, Future<Map<LocalDate, WeatherForecast>>> lookups = new LinkedHashMap<>();
+        datesByLocation.forEach((location, dates) -> lookups.put(location, this.fanOutExecutor.submit(
+                () -> this.lookupForecasts(location, dates))));
+
+        // Wait for all of them, at most until the deadline
+        // --------------------------------------------------
+        final long deadline = System.nanoTime() + this.weatherDeadline.toNanos();
+        for (final Future<Map<LocalDate, WeatherForecast>> future : lookups.values()) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.warn("Weather enrichment exceeded its {} deadline, returning appointments without weather", this.weatherDeadline);
+                break;
+            } catch (ExecutionException e) {
+                // Failed lookups are left out below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        final Map<WeatherKey, WeatherForecast> forecasts = new HashMap<>();
+        lookups.forEach((location, future) -> {
+            if (future.state() == Future.State.SUCCESS) {
+                future.resultNow().forEach((date, forecast) -> forecasts.put(
+                        new WeatherKey(location.latitude(), location.longitude(), date), forecast));
+            } else {
+                // Interrupts lookups still running
+                future.cancel(true);
+            }
+        });
+
+        final List<AppointmentView> views = new ArrayList<>(appointments.size());
+        for (final Appointment appointment : appointments) {
+            final WeatherKey key = weatherKey(appointment);
+            views.add(this.toView(appointment, key == null ? null : forecasts.get(key)));
+        }
+        return views;
+    }
+
+    /**
+     * Forecasts of one location: a single-day lookup, or range lookups of at most
+     * {@link WeatherPort#MAX_RANGE_DAYS} days each.
+     */
+    private Map<LocalDate, WeatherForecast> lookupForecasts(final WeatherLocation location,
+                                                            final SortedSet<LocalDate> dates) {
+        if (dates.size() == 1) {
+            final LocalDate date = dates.first();
+            return Map.of(date, this.weatherPort.getForecast(location.latitude(), location.longitude(), date));
+        }
+        final Map<LocalDate, WeatherForecast> forecasts = new HashMap<>();
+        LocalDate rangeStart = null;
+        LocalDate rangeEnd = null;
+        for (final LocalDate date : dates) {
+            if (rangeStart != null && !date.isBefore(rangeStart.plusDays(WeatherPort.MAX_RANGE_DAYS))) {
+                forecasts.putAll(this.weatherPort.getForecasts(location.latitude(), location.longitude(), rangeStart, rangeEnd));
+                rangeStart = null;
+            }
+            if (rangeStart == null) rangeStart = date;
+            rangeEnd = date;
+        }
+        forecasts.putAll(this.weatherPort.getForecasts(location.latitude(), location.longitude(), rangeStart, rangeEnd));
+        return forecasts;
+    }
+
+    private static WeatherKey weatherKey(final Appointment appointment) {
         if (appointment.getTrainingType() == TrainingType.OUTDOOR_TRAINING &&
                 appointment.getLatitude() != null &&
                 appointment.getLongitude() != null &&
@@ -47,18 +195,14 @@ public class AppointmentMapper {
                     appointment.getScheduledAt(),
                     ZoneId.systemDefault()
             );
-
-            try {
-                forecast = weatherPort.getForecast(
-                        appointment.getLatitude(),
-                        appointment.getLongitude(),
-                        date
-                );
-            } catch (Exception e) {
-                // Log but don't fail the mapping
-                forecast = null;
-            }
+            return new WeatherKey(appointment.getLatitude(), appointment.getLongitude(), date);
         }
+        return null;
+    }
+
+    private AppointmentView toView(final Appointment appointment, final WeatherForecast forecast) {
+        PersonView userView = personMapper.convertPersonToPersonView(appointment.getUser());
+        PersonView trainerView = personMapper.convertPersonToPersonView(appointment.getTrainer());
 
         return new AppointmentView(
                 appointment.getId(),
@@ -0,0 +1,24 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+
+/**
+ * Result of the single-query booking conflict check.
+ *
+ * @param userConflictId id of an active appointment of the user overlapping the requested slot, or {@code null}
+ * @param trainerConflictId id of an active appointment of the trainer overlapping the requested slot, or {@code null}
+ * @see AppointmentRepository#probeConflicts
+ */
+public record AppointmentConflictProbe(
+        Long userConflictId,
+        Long trainerConflictId
+) {
+
+    public boolean hasUserConflict() {
+        return this.userConflictId != null;
+    }
+
+    public boolean hasTrainerConflict() {
+        return this.trainerConflictId != null;
+    }
+}
@@ -0,0 +1,38 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position {@code (scheduledAt, id)} of an appointment listing, encoded as an opaque URL-safe string.
+ *
+ * @see AppointmentPage#nextCursor()
+ */
+public record AppointmentCursor(
+        Instant scheduledAt,
+        long id
+) {
+
+    public String encode() {
+        final String raw = this.scheduledAt.getEpochSecond() + ":" + this.scheduledAt.getNano() + ":" + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static AppointmentCursor decode(final String cursor) {
+        if (cursor == null) throw new NullPointerException();
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            final String[] parts = raw.split(":");
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid cursor");
+            return new AppointmentCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+
+import java.util.List;
+
+/**
+ * A page of appointments ordered by {@code (scheduledAt, id)}.
+ *
+ * @param items the appointments of this page
+ * @param nextCursor opaque position after the last item, or {@code null} if this is the last page
+ * @see AppointmentBusinessLogicService#getAppointments(AppointmentQuery)
+ */
+public record AppointmentPage(
+        List<AppointmentView> items,
+        String nextCursor
+) {}
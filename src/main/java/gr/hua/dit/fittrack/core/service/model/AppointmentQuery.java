@@ -0,0 +1,58 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filters and position of a keyset-paginated appointment listing.
+ *
+ * @param statuses statuses to include ({@code null} or empty means all)
+ * @param from earliest {@code scheduledAt} (inclusive), or {@code null}
+ * @param to latest {@code scheduledAt} (exclusive), or {@code null}
+ * @param cursor {@link AppointmentPage#nextCursor()} of the previous page, or {@code null} for the first page
+ * @param limit page size
+ * @see AppointmentBusinessLogicService#getAppointments(AppointmentQuery)
+ */
+public record AppointmentQuery(
+        Set<AppointmentStatus> statuses,
+        Instant from,
+        Instant to,
+        String cursor,
+        int limit
+) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public Set<AppointmentStatus> statusesOrAll() {
+        return this.statuses == null || this.statuses.isEmpty() ? EnumSet.allOf(AppointmentStatus.class) : this.statuses;
+    }
+
+    public AppointmentQuery withCursor(final String cursor) {
+        return new AppointmentQuery(this.statuses, this.from, this.to, cursor, this.limit);
+    }
+
+    /**
+     * Appointments of today and later, in any status.
+     */
+    public static AppointmentQuery upcoming(final int limit) {
+        return new AppointmentQuery(null, startOfToday(), null, null, limit);
+    }
+
+    /**
+     * Appointments before today, in any status (e.g. a past session still to be completed).
+     */
+    public static AppointmentQuery past(final int limit) {
+        return new AppointmentQuery(null, null, startOfToday(), null, limit);
+    }
+
+    private static Instant startOfToday() {
+        return LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+}
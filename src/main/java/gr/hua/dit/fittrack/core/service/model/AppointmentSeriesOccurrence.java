@@ -0,0 +1,22 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a single occurrence of an appointment series.
+ *
+ * @param appointmentId id of the created appointment, {@code null} on conflict
+ * @param reason why the occurrence was not booked, {@code null} when booked
+ */
+public record AppointmentSeriesOccurrence(
+        Instant scheduledAt,
+        Status status,
+        Long appointmentId,
+        String reason
+) {
+
+    public enum Status {
+        BOOKED,
+        CONFLICT
+    }
+}
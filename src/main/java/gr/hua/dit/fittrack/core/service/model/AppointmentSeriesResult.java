@@ -0,0 +1,14 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import java.util.List;
+
+/**
+ * Per-occurrence results of an appointment series booking.
+ *
+ * @see CreateAppointmentSeriesRequest
+ */
+public record AppointmentSeriesResult(
+        int booked,
+        int conflicts,
+        List<AppointmentSeriesOccurrence> occurrences
+) {}
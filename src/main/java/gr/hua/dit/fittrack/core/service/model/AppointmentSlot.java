@@ -0,0 +1,17 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import gr.hua.dit.fittrack.core.model.Appointment;
+
+import java.time.Instant;
+
+/**
+ * Scalar projection of an {@link Appointment} time slot (no {@code Person} hydration).
+ *
+ * @see gr.hua.dit.fittrack.core.service.AppointmentIntervalIndex
+ */
+public record AppointmentSlot(
+        Long appointmentId,
+        Long userId,
+        Long trainerId,
+        Instant scheduledAt
+) {}
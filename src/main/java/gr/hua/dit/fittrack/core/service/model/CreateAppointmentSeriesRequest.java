@@ -0,0 +1,30 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+/**
+ * Request for a recurring series of appointments in the same slot every {@code intervalWeeks} weeks.
+ */
+public record CreateAppointmentSeriesRequest(
+        @NotNull @Positive Long userId,
+        @NotNull @Positive Long trainerId,
+        @NotNull TrainingType trainingType,
+        @NotNull @NotBlank @Size(max = 1000) String userNotes,
+        @NotNull Instant firstScheduledAt,
+        @NotNull @Positive @Max(52) Integer occurrences,
+        @Positive @Max(4) Integer intervalWeeks, // defaults to 1 (weekly)
+        Double latitude,   // Only for outdoor training
+        Double longitude   // Only for outdoor training
+) {
+
+    public int intervalWeeksOrDefault() {
+        return this.intervalWeeks != null ? this.intervalWeeks : 1;
+    }
+}
@@ -0,0 +1,13 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import java.time.Instant;
+
+/**
+ * A free appointment slot of a trainer.
+ *
+ * @see gr.hua.dit.fittrack.core.service.TrainerFreeSlotService
+ */
+public record FreeSlot(
+        Instant start,
+        Instant end
+) {}
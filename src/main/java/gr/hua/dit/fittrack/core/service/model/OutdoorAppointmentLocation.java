@@ -0,0 +1,16 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import gr.hua.dit.fittrack.core.model.Appointment;
+
+import java.time.Instant;
+
+/**
+ * Scalar projection of where and when an outdoor {@link Appointment} takes place.
+ *
+ * @see gr.hua.dit.fittrack.core.service.WeatherPrefetchService
+ */
+public record OutdoorAppointmentLocation(
+        Double latitude,
+        Double longitude,
+        Instant scheduledAt
+) {}
@@ -0,0 +1,13 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import java.util.List;
+
+/**
+ * Free appointment slots of a single trainer.
+ *
+ * @see gr.hua.dit.fittrack.core.service.TrainerFreeSlotService
+ */
+public record TrainerFreeSlots(
+        Long trainerId,
+        List<FreeSlot> slots
+) {}
@@ -0,0 +1,14 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+/**
+ * A free slot of a specific trainer, as returned by a cross-trainer search.
+ *
+ * @see gr.hua.dit.fittrack.core.service.TrainerFreeSlotService
+ */
+public record TrainerSlotMatch(
+        Long trainerId,
+        String firstName,
+        String lastName,
+        String specialisation,
+        FreeSlot slot
+) {}
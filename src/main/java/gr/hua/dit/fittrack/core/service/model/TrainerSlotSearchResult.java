@@ -0,0 +1,18 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+import java.util.List;
+
+/**
+ * Ranked free slots across trainers.
+ *
+ * <p>{@code partial} is {@code true} when some trainers could not be evaluated within the latency
+ * budget; {@code matches} then only covers the {@code trainersSearched} trainers that were.</p>
+ *
+ * @see gr.hua.dit.fittrack.core.service.TrainerFreeSlotService
+ */
+public record TrainerSlotSearchResult(
+        List<TrainerSlotMatch> matches,
+        int trainersSearched,
+        int trainersTotal,
+        boolean partial
+) {}
@@ -0,0 +1,11 @@
+package gr.hua.dit.fittrack.core.service.model;
+
+/**
+ * Number of active appointments of a user.
+ *
+ * @see gr.hua.dit.fittrack.core.service.ActiveAppointmentCounter
+ */
+public record UserActiveCount(
+        Long userId,
+        Long count
+) {}
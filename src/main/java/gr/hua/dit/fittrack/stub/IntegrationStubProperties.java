@@ -0,0 +1,90 @@
+package gr.hua.dit.fittrack.stub;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Configuration of the {@link IntegrationStubServer} ({@code fittrack.stub.*}).
+ *
+ * @param port port the stub listens on
+ * @param weather behavior of the weather endpoints
+ * @param geocoding behavior of the geocoding endpoint
+ */
+@ConfigurationProperties(prefix = "fittrack.stub")
+public record IntegrationStubProperties(
+        @DefaultValue("18081") int port,
+        @DefaultValue Weather weather,
+        @DefaultValue Geocoding geocoding
+) {
+
+    /**
+     * Log-normal response latency, given by its median and 99th percentile ({@code p99 <= median}
+     * means a fixed latency).
+     */
+    public record Latency(
+            @DefaultValue("PT0.05S") Duration median,
+            @DefaultValue("PT0.25S") Duration p99
+    ) {
+
+        /** z-score of the 99th percentile of the standard normal distribution. */
+        private static final double Z_99 = 2.3263;
+
+        public Duration sample(final Random random) {
+            final double medianMillis = this.median.toNanos() / 1_000_000.0;
+            final double p99Millis = this.p99.toNanos() / 1_000_000.0;
+            if (medianMillis <= 0) return Duration.ZERO;
+            if (p99Millis <= medianMillis) return this.median;
+            final double sigma = Math.log(p99Millis / medianMillis) / Z_99;
+            final double millis = medianMillis * Math.exp(sigma * random.nextGaussian());
+            return Duration.ofNanos((long) (millis * 1_000_000));
+        }
+    }
+
+    /**
+     * Injected faults: a fraction of the requests fails with {@code errorStatus}, another fraction
+     * answers only after {@code hangDuration} (longer than the client read timeout).
+     */
+    public record Faults(
+            @DefaultValue("0") double errorRate,
+            @DefaultValue("503") int errorStatus,
+            @DefaultValue("0") double hangRate,
+            @DefaultValue("PT10S") Duration hangDuration
+    ) {
+
+        public Faults {
+            if (errorRate < 0 || hangRate < 0 || errorRate + hangRate > 1) {
+                throw new IllegalArgumentException("errorRate and hangRate must be >= 0 with a sum <= 1");
+            }
+        }
+    }
+
+    /**
+     * Weather payloads are deterministic per (location, date): {@code rainRate} of the days are rainy
+     * ({@code rainSum} mm, not suitable for outdoor training), temperatures vary around the given
+     * values by up to {@code temperatureSpread}. {@code paddingBytes} inflates every forecast.
+     */
+    public record Weather(
+            @DefaultValue Latency latency,
+            @DefaultValue Faults faults,
+            @DefaultValue("true") boolean rangeEnabled,
+            @DefaultValue("24.0") double temperatureMax,
+            @DefaultValue("14.0") double temperatureMin,
+            @DefaultValue("3.0") double temperatureSpread,
+            @DefaultValue("0.2") double rainRate,
+            @DefaultValue("8.0") double rainSum,
+            @DefaultValue("0") int paddingBytes
+    ) {}
+
+    /**
+     * Geocoding payloads are deterministic per (query, country): {@code notFoundRate} of the queries
+     * are not found, the others resolve to a point inside Greece.
+     */
+    public record Geocoding(
+            @DefaultValue Latency latency,
+            @DefaultValue Faults faults,
+            @DefaultValue("0.05") double notFoundRate
+    ) {}
+}
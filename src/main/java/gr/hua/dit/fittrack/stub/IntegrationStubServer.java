@@ -0,0 +1,251 @@
+package gr.hua.dit.fittrack.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stub of the integration service API (weather forecast, forecast range, geocoding), so
+ * that booking and listing can be load-tested on a single machine.
+ *
+ * <p>Started under the {@code stub} profile (part of the {@code perf} profile group). Latency, error
+ * and hang rates and payloads are configured per endpoint ({@link IntegrationStubProperties}); each
+ * request runs on its own virtual thread, so simulated latency does not limit throughput. Requests
+ * are counted as {@code fittrack.stub.requests{endpoint, outcome}}, to compare against the calls
+ * the application receives (cache hits, coalescing, circuit breaker).</p>
+ */
+@Component
+@Profile("stub")
+public class IntegrationStubServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntegrationStubServer.class);
+
+    static final String FORECAST_PATH = "/api/v1/weather/forecast";
+    static final String RANGE_PATH = "/api/v1/weather/forecast/range";
+    static final String GEOCODING_PATH = "/api/integration/geocoding";
+
+    /** Longest range answered by the range endpoint, as the real service. */
+    private static final int MAX_RANGE_DAYS = 16;
+
+    private final IntegrationStubProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public IntegrationStubServer(final IntegrationStubProperties properties,
+                                 final ObjectMapper objectMapper,
+                                 final MeterRegistry meterRegistry) {
+        if (properties == null) throw new NullPointerException();
+        if (objectMapper == null) throw new NullPointerException();
+        if (meterRegistry == null) throw new NullPointerException();
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", this.properties.port()), 1024);
+        this.server.setExecutor(this.executor);
+        // Most specific context wins: the range path is matched before the single-day one
+        this.server.createContext(RANGE_PATH, exchange -> this.handle(exchange, "forecast_range"));
+        this.server.createContext(FORECAST_PATH, exchange -> this.handle(exchange, "forecast"));
+        this.server.createContext(GEOCODING_PATH, exchange -> this.handle(exchange, "geocoding"));
+        this.server.start();
+        LOGGER.info("Integration stub listening on http://127.0.0.1:{}", this.getPort());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.server != null) this.server.stop(0);
+        if (this.executor != null) this.executor.shutdownNow();
+    }
+
+    /**
+     * @return the port the stub listens on (the actual one if configured as {@code 0})
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    // Request handling
+    // --------------------------------------------------
+
+    private void handle(final HttpExchange exchange, final String endpoint) throws IOException {
+        try (exchange) {
+            final boolean geocoding = endpoint.equals("geocoding");
+            final IntegrationStubProperties.Latency latency = geocoding
+                    ? this.properties.geocoding().latency()
+                    : this.properties.weather().latency();
+            final IntegrationStubProperties.Faults faults = geocoding
+                    ? this.properties.geocoding().faults()
+                    : this.properties.weather().faults();
+
+            if (endpoint.equals("forecast_range") && !this.properties.weather().rangeEnabled()) {
+                this.count(endpoint, "not_found");
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final double fault = random.nextDouble();
+            if (fault < faults.errorRate()) {
+                sleep(latency.sample(random));
+                this.count(endpoint, "error");
+                exchange.sendResponseHeaders(faults.errorStatus(), -1);
+                return;
+            }
+            final boolean hang = fault < faults.errorRate() + faults.hangRate();
+            sleep(hang ? faults.hangDuration() : latency.sample(random));
+
+            final Object body;
+            try {
+                final Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+                body = switch (endpoint) {
+                    case "forecast" -> this.forecast(
+                            Double.parseDouble(parameters.get("latitude")),
+                            Double.parseDouble(parameters.get("longitude")),
+                            LocalDate.parse(parameters.get("date")));
+                    case "forecast_range" -> this.forecastRange(
+                            Double.parseDouble(parameters.get("latitude")),
+                            Double.parseDouble(parameters.get("longitude")),
+                            LocalDate.parse(parameters.get("from")),
+                            LocalDate.parse(parameters.get("to")));
+                    default -> this.geocode(
+                            Objects.requireNonNull(parameters.get("postalCode")),
+                            parameters.getOrDefault("country", "GR"));
+                };
+            } catch (NullPointerException | IllegalArgumentException | DateTimeParseException e) {
+                this.count(endpoint, "bad_request");
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            this.count(endpoint, hang ? "hang" : "ok");
+            final byte[] bytes = this.objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // Client gone (e.g. timed out on a hanging response)
+            LOGGER.debug("Integration stub response failed: {}", e.getMessage());
+        }
+    }
+
+    private void count(final String endpoint, final String outcome) {
+        Counter.builder("fittrack.stub.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .description("Requests served by the integration stub")
+                .register(this.meterRegistry)
+                .increment();
+    }
+
+    // Payloads
+    // --------------------------------------------------
+
+    Map<String, Object> forecast(final double latitude, final double longitude, final LocalDate date) {
+        final IntegrationStubProperties.Weather weather = this.properties.weather();
+        final Random random = new Random(Objects.hash(latitude, longitude, date));
+        final boolean rain = random.nextDouble() < weather.rainRate();
+        final double spread = weather.temperatureSpread();
+
+        final Map<String, Object> forecast = new LinkedHashMap<>();
+        forecast.put("date", date.toString());
+        forecast.put("temperature_max", round(weather.temperatureMax() + spread * (2 * random.nextDouble() - 1)));
+        forecast.put("temperature_min", round(weather.temperatureMin() + spread * (2 * random.nextDouble() - 1)));
+        forecast.put("precipitation_sum", rain ? weather.rainSum() : 0.0);
+        forecast.put("weather_description", rain ? "Rain" : "Clear sky");
+        if (weather.paddingBytes() > 0) {
+            forecast.put("padding", "x".repeat(weather.paddingBytes()));
+        }
+        return forecast;
+    }
+
+    List<Map<String, Object>> forecastRange(final double latitude, final double longitude,
+                                            final LocalDate from, final LocalDate to) {
+        if (to.isBefore(from) || !to.isBefore(from.plusDays(MAX_RANGE_DAYS))) {
+            throw new IllegalArgumentException("Invalid range " + from + ".." + to);
+        }
+        final List<Map<String, Object>> forecasts = new ArrayList<>();
+        from.datesUntil(to.plusDays(1)).forEach(date -> forecasts.add(this.forecast(latitude, longitude, date)));
+        return forecasts;
+    }
+
+    Map<String, Object> geocode(final String postalCode, final String country) {
+        final String query = postalCode.strip().toLowerCase(Locale.ROOT);
+        final Random random = new Random(Objects.hash(query, country.toUpperCase(Locale.ROOT)));
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        if (random.nextDouble() < this.properties.geocoding().notFoundRate()) {
+            result.put("found", false);
+            result.put("error", "Δεν βρέθηκε τοποθεσία");
+            return result;
+        }
+        result.put("found", true);
+        result.put("name", postalCode.strip());
+        // Mainland Greece
+        result.put("latitude", round(36.5 + 4.5 * random.nextDouble()));
+        result.put("longitude", round(21.0 + 5.0 * random.nextDouble()));
+        return result;
+    }
+
+    // Helpers
+    // --------------------------------------------------
+
+    private static Map<String, String> parameters(final String rawQuery) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) return parameters;
+        for (final String parameter : rawQuery.split("&")) {
+            final String[] pair = parameter.split("=", 2);
+            parameters.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                    pair.length == 2 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+        }
+        return parameters;
+    }
+
+    private static double round(final double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+
+    private static void sleep(final Duration duration) {
+        if (duration.isZero() || duration.isNegative()) return;
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package gr.hua.dit.fittrack.web.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import gr.hua.dit.fittrack.core.service.AppointmentDataService;
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -19,11 +36,21 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminAppointmentResource {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final AppointmentDataService appointmentDataService ;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
 
-    public AdminAppointmentResource(final AppointmentDataService appointmentDataService) {
+    public AdminAppointmentResource(final AppointmentDataService appointmentDataService,
+                                    final ObjectMapper objectMapper,
+                                    @Value("${fittrack.export.timeout:PT10M}") final Duration exportTimeout) {
         if (appointmentDataService == null) throw new NullPointerException();
+        if (objectMapper == null) throw new NullPointerException();
+        if (exportTimeout == null) throw new NullPointerException();
         this.appointmentDataService = appointmentDataService;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
     }
 
     @Operation(
@@ -36,4 +63,45 @@ public class AdminAppointmentResource {
     public List<AppointmentView> getAllAppointments() {
         return this.appointmentDataService.getAllAppointments();
     }
+
+    @Operation(
+            summary = "Export appointments as NDJSON (one appointment per line, streamed)",
+            description = "Appointments created or changed (including cancellations) since the given instant (all if omitted), "
+                    + "in id order. Weather forecasts are not included.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'INTEGRATION_READ')")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant since,
+            final HttpServletRequest request) {
+        // Own time limit for this request only; other async requests keep the default
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(this.exportTimeout.toMillis());
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(out -> this.writeNdjson(since, out));
+    }
+
+    private void writeNdjson(final Instant since, final OutputStream out) throws IOException {
+        // Values are separated by newlines; the generator buffers, the stream is flushed once at the end
+        final ObjectWriter ndjsonWriter = this.objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+
+        final long exported;
+        try (SequenceWriter writer = ndjsonWriter.writeValues(out)) {
+            exported = this.appointmentDataService.exportAppointments(since, appointment -> {
+                try {
+                    writer.write(appointment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (exported > 0) out.write('\n');
+        out.flush();
+    }
 }
@@ -1,22 +1,34 @@
 package gr.hua.dit.fittrack.web.rest;
 
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
 import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentConflictException;
 import gr.hua.dit.fittrack.core.service.AppointmentDataService;
+import gr.hua.dit.fittrack.core.service.model.AppointmentPage;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSeriesResult;
 import gr.hua.dit.fittrack.core.service.model.AppointmentView;
 
 import gr.hua.dit.fittrack.core.service.model.CompleteAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.ConfirmAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentSeriesRequest;
+import gr.hua.dit.fittrack.web.rest.error.ApiConflictError;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for managing {@code Appointment} resource.
@@ -39,6 +51,22 @@ public class AppointmentResource {
         return this.appointmentBusinessLogicService.getAppointments();
     }
 
+    @Operation(summary = "Get a page of current user's appointments (keyset-paginated by scheduledAt, id)")
+    @GetMapping("/page")
+    public AppointmentPage getMyAppointmentsPage(
+            @RequestParam(required = false) final Set<AppointmentStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "" + AppointmentQuery.DEFAULT_LIMIT) final int limit) {
+        try {
+            return this.appointmentBusinessLogicService.getAppointments(
+                    new AppointmentQuery(status, from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @Operation(summary = "Get appointment by ID")
     @GetMapping("/{id}")
     public AppointmentView getAppointment(@PathVariable final Long id) {
@@ -56,6 +84,14 @@ public class AppointmentResource {
         return this.appointmentBusinessLogicService.requestAppointment(request, true);
     }
 
+    @Operation(summary = "Create recurring appointment series (per-occurrence results)")
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(value = "/series", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public AppointmentSeriesResult createAppointmentSeries(
+            @Valid @RequestBody final CreateAppointmentSeriesRequest request) {
+        return this.appointmentBusinessLogicService.requestAppointmentSeries(request);
+    }
+
     @Operation(summary = "Confirm appointment (trainer only)")
     @PreAuthorize("hasRole('TRAINER')")
     @PutMapping("/{id}/confirm")
@@ -72,4 +108,27 @@ public class AppointmentResource {
             @Valid @RequestBody final CompleteAppointmentRequest request) {
         return this.appointmentBusinessLogicService.completeAppointment(request);
     }
+
+    @Operation(summary = "Cancel appointment (user or trainer)")
+    @PutMapping("/{id}/cancel")
+    public AppointmentView cancelAppointment(@PathVariable final Long id) {
+        return this.appointmentBusinessLogicService.cancelAppointment(id);
+    }
+
+    /**
+     * Concurrent transitions of the same appointment: 409 with the current state.
+     */
+    @ExceptionHandler(AppointmentConflictException.class)
+    public ResponseEntity<ApiConflictError> handleConflict(final AppointmentConflictException exception,
+                                                           final HttpServletRequest httpServletRequest) {
+        final ApiConflictError apiConflictError = new ApiConflictError(
+                Instant.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                exception.getMessage(),
+                httpServletRequest.getRequestURI(),
+                exception.getCurrent()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(apiConflictError);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package gr.hua.dit.fittrack.web.rest;
+
+import gr.hua.dit.fittrack.core.port.GeocodingPort;
+import gr.hua.dit.fittrack.core.port.impl.dto.GeocodingResult;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST API για εύρεση συντεταγμένων από ταχυδρομικό κώδικα ή όνομα περιοχής.
+ *
+ * <p>Το browser δεν καλεί απευθείας το integration-service· οι απαντήσεις αποθηκεύονται στην cache
+ * του {@link GeocodingPort}.</p>
+ */
+@RestController
+@RequestMapping("/api/geocoding")
+public class GeocodingResource {
+
+    private final GeocodingPort geocodingPort;
+
+    public GeocodingResource(final GeocodingPort geocodingPort) {
+        if (geocodingPort == null) throw new NullPointerException();
+        this.geocodingPort = geocodingPort;
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping
+    public ResponseEntity<?> geocode(@RequestParam(required = false) final String postalCode,
+                                     @RequestParam(defaultValue = "GR") final String country) {
+        if (postalCode == null || postalCode.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "found", false,
+                    "error", "Παρακαλώ εισάγετε όνομα περιοχής ή πόλης"
+            ));
+        }
+        if (postalCode.strip().length() > GeocodingPort.MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "found", false,
+                    "error", "Το όνομα περιοχής είναι πολύ μεγάλο"
+            ));
+        }
+        if (!country.strip().matches("[A-Za-z]{2}")) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "found", false,
+                    "error", "Μη έγκυρος κωδικός χώρας"
+            ));
+        }
+
+        final GeocodingResult result = this.geocodingPort.geocode(postalCode, country);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,69 @@
+package gr.hua.dit.fittrack.web.rest;
+
+import gr.hua.dit.fittrack.core.service.TrainerFreeSlotService;
+import gr.hua.dit.fittrack.core.service.TrainerNotFoundException;
+import gr.hua.dit.fittrack.core.service.model.TrainerFreeSlots;
+import gr.hua.dit.fittrack.core.service.model.TrainerSlotSearchResult;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+/**
+ * REST controller for searching free trainer slots.
+ */
+@RestController
+@RequestMapping(value = "/api/v1/trainers", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Trainer slots", description = "Free trainer slot search API")
+public class TrainerSlotResource {
+
+    private static final int MAX_COUNT = 50;
+
+    private final TrainerFreeSlotService trainerFreeSlotService;
+
+    public TrainerSlotResource(final TrainerFreeSlotService trainerFreeSlotService) {
+        if (trainerFreeSlotService == null) throw new NullPointerException();
+        this.trainerFreeSlotService = trainerFreeSlotService;
+    }
+
+    @Operation(summary = "Search the earliest free 1-hour slots across all trainers (partial if over the latency budget)")
+    @GetMapping("/free-slots")
+    public TrainerSlotSearchResult searchFreeSlots(
+            @RequestParam(required = false) final String specialisation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+            @RequestParam(defaultValue = "10") final int count) {
+        if (count <= 0 || count > MAX_COUNT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count must be between 1 and " + MAX_COUNT);
+        }
+        return this.trainerFreeSlotService.searchFreeSlots(specialisation, from == null ? Instant.now() : from, to, count);
+    }
+
+    @Operation(summary = "Get the next free 1-hour slots of a trainer")
+    @GetMapping("/{id}/free-slots")
+    public TrainerFreeSlots getFreeSlots(
+            @PathVariable final Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+            @RequestParam(defaultValue = "5") final int count) {
+        if (count <= 0 || count > MAX_COUNT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count must be between 1 and " + MAX_COUNT);
+        }
+        try {
+            return this.trainerFreeSlotService.findFreeSlots(id, from == null ? Instant.now() : from, to, count);
+        } catch (TrainerNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
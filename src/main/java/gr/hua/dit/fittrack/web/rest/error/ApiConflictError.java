@@ -0,0 +1,15 @@
+package gr.hua.dit.fittrack.web.rest.error;
+
+import java.time.Instant;
+
+/**
+ * {@link ApiError} variant for 409 responses, carrying the current state of the conflicting resource.
+ */
+public record ApiConflictError(
+        Instant timestamp,
+        int status,
+        String error,
+        String message,
+        String path,
+        Object current
+) {}
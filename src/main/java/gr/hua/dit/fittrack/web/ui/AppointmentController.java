@@ -4,7 +4,10 @@ import gr.hua.dit.fittrack.core.model.PersonType;
 import gr.hua.dit.fittrack.core.repository.PersonRepository;
 import gr.hua.dit.fittrack.core.security.CurrentUserProvider;
 import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentConflictException;
 import gr.hua.dit.fittrack.core.service.mapper.PersonMapper;
+import gr.hua.dit.fittrack.core.service.model.AppointmentPage;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
 import gr.hua.dit.fittrack.core.service.model.CompleteAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
 import gr.hua.dit.fittrack.core.service.model.ConfirmAppointmentRequest;
@@ -28,9 +31,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import java.util.List;
@@ -74,9 +79,17 @@ public class AppointmentController {
     // --------------------------------------------------
 
     @GetMapping
-    public String list(final Model model) {
-        final List<AppointmentView> appointments = appointmentService.getAppointments();
-        model.addAttribute("appointments", appointments);
+    public String list(@RequestParam(value = "cursor", required = false) final String cursor,
+                       @RequestParam(value = "past", defaultValue = "false") final boolean past,
+                       final Model model) {
+        // Upcoming (today and later) or past appointments, one page at a time
+        final AppointmentQuery query = past
+                ? AppointmentQuery.past(AppointmentQuery.DEFAULT_LIMIT)
+                : AppointmentQuery.upcoming(AppointmentQuery.DEFAULT_LIMIT);
+        final AppointmentPage page = appointmentService.getAppointments(query.withCursor(cursor));
+        model.addAttribute("appointments", page.items());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("past", past);
         return "appointments";
     }
 
@@ -177,10 +190,12 @@ public class AppointmentController {
     ) {
         boolean isAjax = "XMLHttpRequest".equals(requestedWith);
 
-        final AppointmentView appointment =
-                appointmentService.confirmAppointment(
-                        new ConfirmAppointmentRequest(id)
-                );
+        final AppointmentView appointment;
+        try {
+            appointment = appointmentService.confirmAppointment(new ConfirmAppointmentRequest(id));
+        } catch (AppointmentConflictException e) {
+            return conflict(id, e, isAjax);
+        }
 
         if (isAjax) {
             return ResponseEntity.ok(Map.of("success", true, "status", "CONFIRMED"));
@@ -235,6 +250,8 @@ public class AppointmentController {
             return ResponseEntity.status(HttpStatus.FOUND)
                     .header("Location", "/appointments/" + appointment.id())
                     .build();
+        } catch (AppointmentConflictException e) {
+            return conflict(id, e, isAjax);
         } catch (IllegalArgumentException | SecurityException e) {
             if (isAjax) {
                 return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -244,4 +261,20 @@ public class AppointmentController {
                     .build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Concurrent change of the appointment: 409 with its current state (as the REST API), so the page can
+     * tell it apart from a validation error; otherwise back to the appointment.
+     */
+    private static ResponseEntity<?> conflict(final Long id, final AppointmentConflictException e, final boolean isAjax) {
+        if (isAjax) {
+            final Map<String, Object> body = new HashMap<>();
+            body.put("error", e.getMessage());
+            body.put("current", e.getCurrent());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        }
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .header("Location", "/appointments/" + id)
+                .build();
+    }
+}
@@ -12,7 +12,8 @@ import gr.hua.dit.fittrack.core.security.CurrentUser;
 import gr.hua.dit.fittrack.core.security.CurrentUserProvider;
 import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
 import gr.hua.dit.fittrack.core.service.mapper.PersonMapper;
-import gr.hua.dit.fittrack.core.service.model.AppointmentView;
+import gr.hua.dit.fittrack.core.service.model.AppointmentPage;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
 import gr.hua.dit.fittrack.core.service.model.PersonView;
 
 import org.springframework.stereotype.Controller;
@@ -71,9 +72,11 @@ public class ProfileController {
                 .toList();
         model.addAttribute("trainers", trainers);
 
-        // Load user's appointments
-        List<AppointmentView> appointments = appointmentService.getAppointments();
-        model.addAttribute("appointments", appointments);
+        // Load user's upcoming appointments (first page, the rest via the appointments list)
+        AppointmentPage appointments = appointmentService
+                .getAppointments(AppointmentQuery.upcoming(AppointmentQuery.MAX_LIMIT));
+        model.addAttribute("appointments", appointments.items());
+        model.addAttribute("nextCursor", appointments.nextCursor());
 
         // Load goals
         List<Goal> userGoals = goalRepository.findByUserId(currentUser.id());
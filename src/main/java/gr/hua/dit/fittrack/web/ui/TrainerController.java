@@ -62,7 +62,8 @@ import gr.hua.dit.fittrack.core.security.CurrentUser;
 import gr.hua.dit.fittrack.core.security.CurrentUserProvider;
 import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
 import gr.hua.dit.fittrack.core.service.mapper.PersonMapper;
-import gr.hua.dit.fittrack.core.service.model.AppointmentView;
+import gr.hua.dit.fittrack.core.service.model.AppointmentPage;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
 import gr.hua.dit.fittrack.core.service.model.PersonView;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -111,9 +112,11 @@ public class TrainerController {
         PersonView trainerView = personMapper.convertPersonToPersonView(trainer);
         model.addAttribute("trainer", trainerView);
 
-        // Existing: appointments
-        List<AppointmentView> appointments = appointmentService.getAppointments();
-        model.addAttribute("appointments", appointments);
+        // Existing: upcoming appointments (first page, the rest via the appointments list)
+        AppointmentPage appointments = appointmentService
+                .getAppointments(AppointmentQuery.upcoming(AppointmentQuery.MAX_LIMIT));
+        model.addAttribute("appointments", appointments.items());
+        model.addAttribute("nextCursor", appointments.nextCursor());
 
         // ✅ Notes: users who chose this trainer
         List<Person> users = appointmentRepository.findDistinctUsersForTrainer(
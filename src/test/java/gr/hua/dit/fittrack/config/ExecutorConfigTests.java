@@ -0,0 +1,33 @@
+package gr.hua.dit.fittrack.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The application's own executors do not replace Boot's bounded {@code applicationTaskExecutor}.
+ */
+@SpringBootTest
+class ExecutorConfigTests {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    @Qualifier("fanOutExecutor")
+    private ExecutorService fanOutExecutor;
+
+    @Test
+    void applicationTaskExecutorIsBounded() {
+        assertThat(this.fanOutExecutor).isNotNull();
+        assertThat(this.applicationTaskExecutor.getMaxPoolSize()).isEqualTo(32);
+        assertThat(this.applicationTaskExecutor.getQueueCapacity()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,137 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.GeocodingResult;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.respond;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cached lookups of {@link GeocodingPortImpl} against a local stub of the geocoding service.
+ */
+class GeocodingPortImplTests {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    private final CountDownLatch entered = new CountDownLatch(1);
+
+    private IntegrationServiceStub stub;
+    private GeocodingPortImpl geocodingPort;
+
+    @BeforeEach
+    void setUp() {
+        this.stub = new IntegrationServiceStub().handle("/api/integration/geocoding", this::handle);
+        this.geocodingPort = new GeocodingPortImpl(
+                this.stub.restClient(),
+                this.stub.baseUrl(),
+                new ConcurrentMapCacheManager("geocodingResults"),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.hold.countDown();
+        this.stub.close();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String query = exchange.getRequestURI().getQuery();
+        this.requests.add(query);
+        this.entered.countDown();
+        try {
+            this.hold.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.status != 200) {
+            respond(exchange, this.status);
+            return;
+        }
+        respond(exchange, 200, query.contains("postalCode=00000")
+                ? "{\"found\":false,\"error\":\"Not found\"}"
+                : "{\"found\":true,\"name\":\"Athens\",\"latitude\":37.98,\"longitude\":23.72}");
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        final GeocodingResult first = this.geocodingPort.geocode("Αθήνα", "GR");
+        final GeocodingResult second = this.geocodingPort.geocode("  αθήνα ", "gr");
+
+        assertThat(first.found()).isTrue();
+        assertThat(first.latitude()).isEqualTo(37.98);
+        assertThat(second).isEqualTo(first);
+        assertThat(this.requests).hasSize(1);
+        assertThat(this.requests.get(0)).contains("country=GR");
+    }
+
+    @Test
+    void notFoundIsCached() {
+        assertThat(this.geocodingPort.geocode("00000", "GR").found()).isFalse();
+        assertThat(this.geocodingPort.geocode("00000", "GR").found()).isFalse();
+
+        this.status = 404;
+        assertThat(this.geocodingPort.geocode("99999", "GR").found()).isFalse();
+        assertThat(this.geocodingPort.geocode("99999", "GR").found()).isFalse();
+
+        assertThat(this.requests).hasSize(2);
+    }
+
+    @Test
+    void otherClientErrorsAreNotCached() {
+        this.status = 429;
+        assertThat(this.geocodingPort.geocode("10431", "GR").found()).isFalse();
+
+        this.status = 200;
+        assertThat(this.geocodingPort.geocode("10431", "GR").found()).isTrue();
+        assertThat(this.requests).hasSize(2);
+    }
+
+    @Test
+    void concurrentLookupsShareOneRequest() throws Exception {
+        this.hold = new CountDownLatch(1);
+        final CompletableFuture<GeocodingResult> first = CompletableFuture.supplyAsync(() -> this.geocodingPort.geocode("10431", "GR"));
+        assertThat(this.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The second caller waits for the in-flight call instead of making its own
+        final CompletableFuture<GeocodingResult> second = new CompletableFuture<>();
+        final Thread follower = Thread.ofPlatform().start(() -> second.complete(this.geocodingPort.geocode("10431", "GR")));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (follower.getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+
+        this.hold.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).found()).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get());
+        assertThat(this.requests).hasSize(1);
+    }
+
+    @Test
+    void serviceFailureIsNotCached() {
+        this.status = 503;
+        final GeocodingResult failed = this.geocodingPort.geocode("10431", "GR");
+        assertThat(failed.found()).isFalse();
+        assertThat(failed.error()).isNotBlank();
+
+        this.status = 200;
+        assertThat(this.geocodingPort.geocode("10431", "GR").found()).isTrue();
+        assertThat(this.requests).hasSize(2);
+    }
+}
@@ -0,0 +1,115 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.config.OutboundHttpClientConfig;
+import gr.hua.dit.fittrack.config.RestClientConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Local stub of the integration service for port tests, with a {@link RestClient} on the pooled
+ * outbound HTTP client ({@link OutboundHttpClientConfig}) pointing at it.
+ */
+final class IntegrationServiceStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CloseableHttpClient outboundHttpClient;
+    private final RestClient restClient;
+
+    /**
+     * @param readTimeout read timeout of the {@link #restClient()}
+     */
+    IntegrationServiceStub(final Duration readTimeout) {
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Handlers may block (held or delayed responses) without stalling other requests
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(this.executor);
+        this.server.start();
+
+        final OutboundHttpClientConfig outbound = new OutboundHttpClientConfig();
+        this.outboundHttpClient = outbound.outboundHttpClient(
+                outbound.outboundConnectionManager(Duration.ofSeconds(1), readTimeout, 10, 10, Duration.ofMinutes(5)),
+                readTimeout,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(30));
+        this.restClient = new RestClientConfig().restClient(outbound.outboundRequestFactory(this.outboundHttpClient));
+    }
+
+    IntegrationServiceStub() {
+        this(Duration.ofSeconds(2));
+    }
+
+    IntegrationServiceStub handle(final String path, final HttpHandler handler) {
+        this.server.createContext(path, handler);
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + this.server.getAddress().getPort();
+    }
+
+    RestClient restClient() {
+        return this.restClient;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.outboundHttpClient.close();
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    // Handler helpers
+    // --------------------------------------------------
+
+    static void respond(final HttpExchange exchange, final int status, final String json) throws IOException {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    static void respond(final HttpExchange exchange, final int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    static Map<String, String> parameters(final HttpExchange exchange) {
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return Map.of();
+        return Arrays.stream(query.split("&"))
+                .map(parameter -> parameter.split("=", 2))
+                .collect(Collectors.toMap(
+                        parameter -> URLDecoder.decode(parameter[0], StandardCharsets.UTF_8),
+                        parameter -> parameter.length == 2 ? URLDecoder.decode(parameter[1], StandardCharsets.UTF_8) : ""));
+    }
+
+    /**
+     * Weather service day as JSON.
+     */
+    static String day(final Object date, final String description) {
+        return "{\"date\":\"" + date + "\",\"temperature_max\":25.0,\"temperature_min\":12.0,"
+                + "\"precipitation_sum\":0.0,\"weather_description\":\"" + description + "\"}";
+    }
+}
@@ -0,0 +1,43 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Clock that only moves when advanced.
+ */
+final class MutableClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    MutableClock(final Instant instant, final ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    MutableClock() {
+        this(Instant.now(), ZoneId.systemDefault());
+    }
+
+    void advance(final Duration duration) {
+        this.instant = this.instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return this.zone;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+        return new MutableClock(this.instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return this.instant;
+    }
+}
@@ -0,0 +1,110 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write-behind and expiry of {@link WeatherForecastStore} on an in-memory H2 database.
+ */
+class WeatherForecastStoreTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+    private WeatherForecastStore store;
+
+    @BeforeEach
+    void setUp() {
+        this.jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        this.store = this.store(Duration.ofDays(1), 100);
+    }
+
+    private WeatherForecastStore store(final Duration maxAge, final int maxPending) {
+        return new WeatherForecastStore(this.jdbcTemplate, true, maxAge, maxPending, this.meterRegistry, Clock.systemDefaultZone());
+    }
+
+    private static WeatherForecast forecast(final LocalDate date) {
+        return new WeatherForecast(date, 25.0, 12.0, 0.0, "Clear sky");
+    }
+
+    private void save(final LocalDate date) {
+        this.store.save("sx0r4n_" + date, new CachedForecast(forecast(date), Instant.now()));
+    }
+
+    private static Optional<WeatherForecast> find(final WeatherForecastStore store, final LocalDate date) {
+        return store.find("sx0r4n_" + date).map(CachedForecast::forecast);
+    }
+
+    @Test
+    void flushedForecastsAreServedAfterRestart() {
+        final LocalDate tomorrow = LocalDate.now().plusDays(1);
+        save(tomorrow);
+
+        // Buffered forecasts are visible before the flush
+        assertThat(find(this.store, tomorrow)).contains(forecast(tomorrow));
+        assertThat(this.store.flush()).isEqualTo(1);
+        assertThat(this.store.flush()).isZero();
+
+        final WeatherForecastStore restarted = this.store(Duration.ofDays(1), 100);
+        assertThat(find(restarted, tomorrow)).contains(forecast(tomorrow));
+        assertThat(find(restarted, tomorrow.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void degradedForecastsAreNotStored() {
+        final LocalDate today = LocalDate.now();
+        this.store.save("sx0r4n_" + today, new CachedForecast(
+                new WeatherForecast(today, 20.0, 15.0, 0.0, "Weather data unavailable", true), Instant.now()));
+
+        assertThat(this.store.flush()).isZero();
+        assertThat(find(this.store, today)).isEmpty();
+    }
+
+    @Test
+    void pastAndTooOldForecastsExpire() {
+        final LocalDate yesterday = LocalDate.now().minusDays(1);
+        final LocalDate tomorrow = LocalDate.now().plusDays(1);
+        save(yesterday);
+        save(tomorrow);
+        this.store.flush();
+        assertThat(find(this.store, yesterday)).isEmpty();
+
+        // Rows fetched longer than max-age ago are ignored and purged
+        final WeatherForecastStore shortLived = this.store(Duration.ZERO, 100);
+        assertThat(find(shortLived, tomorrow)).isEmpty();
+        assertThat(this.store.purgeExpired()).isEqualTo(1);
+        assertThat(shortLived.purgeExpired()).isEqualTo(1);
+    }
+
+    @Test
+    void bufferIsBoundedWhileTheDatabaseIsUnavailable() {
+        final WeatherForecastStore bounded = this.store(Duration.ofDays(1), 2);
+        this.jdbcTemplate.execute("drop table weather_forecast_store");
+        final LocalDate tomorrow = LocalDate.now().plusDays(1);
+        final CachedForecast cached = new CachedForecast(forecast(tomorrow), Instant.now());
+
+        assertThat(bounded.save("a_" + tomorrow, cached)).isTrue();
+        assertThat(bounded.save("b_" + tomorrow, cached)).isTrue();
+        // Failed flushes keep their entries, so the buffer stays full
+        assertThat(bounded.flush()).isZero();
+        assertThat(bounded.save("c_" + tomorrow, cached)).isFalse();
+        assertThat(bounded.save("a_" + tomorrow, cached)).isTrue();
+
+        assertThat(this.meterRegistry.counter("fittrack.weather.store.dropped").count()).isEqualTo(1);
+        assertThat(bounded.find("c_" + tomorrow)).isEmpty();
+    }
+}
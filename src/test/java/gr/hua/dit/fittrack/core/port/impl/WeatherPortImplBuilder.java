@@ -0,0 +1,96 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link WeatherPortImpl} against an {@link IntegrationServiceStub}, with test defaults: in-memory
+ * caches, no persistent store, refreshes on the calling thread, asynchronous calls on virtual threads.
+ */
+final class WeatherPortImplBuilder {
+
+    private final IntegrationServiceStub stub;
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private int geohashPrecision = 6;
+    private int maxConcurrentCalls = 4;
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private Duration softTtl = Duration.ofMinutes(30);
+    private Duration hardTtl = Duration.ofDays(1);
+    private Duration rangeReprobeInterval = Duration.ofHours(1);
+    private Executor refreshExecutor = Runnable::run;
+    private Clock clock = Clock.systemDefaultZone();
+
+    WeatherPortImplBuilder(final IntegrationServiceStub stub) {
+        this.stub = stub;
+    }
+
+    WeatherPortImplBuilder meterRegistry(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    WeatherPortImplBuilder geohashPrecision(final int geohashPrecision) {
+        this.geohashPrecision = geohashPrecision;
+        return this;
+    }
+
+    WeatherPortImplBuilder maxConcurrentCalls(final int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        return this;
+    }
+
+    WeatherPortImplBuilder circuitBreaker(final int failureThreshold, final Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    WeatherPortImplBuilder ttl(final Duration softTtl, final Duration hardTtl) {
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        return this;
+    }
+
+    WeatherPortImplBuilder rangeReprobeInterval(final Duration rangeReprobeInterval) {
+        this.rangeReprobeInterval = rangeReprobeInterval;
+        return this;
+    }
+
+    WeatherPortImplBuilder refreshExecutor(final Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+        return this;
+    }
+
+    WeatherPortImplBuilder clock(final Clock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    WeatherPortImpl build() {
+        return new WeatherPortImpl(
+                this.stub.restClient(),
+                this.stub.baseUrl(),
+                true,
+                new ConcurrentMapCacheManager("weatherForecasts", "weatherForecastFallbacks"),
+                new WeatherForecastStore(new JdbcTemplate(), false, this.hardTtl, 1, this.meterRegistry, this.clock),
+                this.meterRegistry,
+                this.geohashPrecision,
+                this.maxConcurrentCalls,
+                this.failureThreshold,
+                this.openDuration,
+                this.softTtl,
+                this.hardTtl,
+                this.rangeReprobeInterval,
+                this.refreshExecutor,
+                runnable -> Thread.ofVirtual().start(runnable),
+                this.clock
+        );
+    }
+}
@@ -0,0 +1,157 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.day;
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.parameters;
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.respond;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-day forecast retrieval of {@link WeatherPortImpl} against a local stub of the weather service.
+ */
+class WeatherPortImplRangeTests {
+
+    private static final double LATITUDE = 37.98;
+    private static final double LONGITUDE = 23.72;
+    private static final LocalDate FROM = LocalDate.of(2030, 6, 1);
+    private static final Duration REPROBE_INTERVAL = Duration.ofHours(1);
+    private static final String RANGE_PATH = "/api/v1/weather/forecast/range";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile boolean rangeEndpoint = true;
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final MutableClock clock = new MutableClock();
+
+    private IntegrationServiceStub stub;
+    private SimpleMeterRegistry meterRegistry;
+    private WeatherPortImpl weatherPort;
+
+    @BeforeEach
+    void setUp() {
+        this.stub = new IntegrationServiceStub().handle("/api/v1/weather/forecast", this::handle);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.weatherPort = new WeatherPortImplBuilder(this.stub)
+                .meterRegistry(this.meterRegistry)
+                .rangeReprobeInterval(REPROBE_INTERVAL)
+                .clock(this.clock)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.hold.countDown();
+        this.stub.close();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        final Map<String, String> query = parameters(exchange);
+        this.requests.add(path);
+        this.entered.countDown();
+        try {
+            this.hold.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (path.endsWith("/range")) {
+            if (!this.rangeEndpoint) {
+                respond(exchange, 404);
+                return;
+            }
+            respond(exchange, 200, LocalDate.parse(query.get("from"))
+                    .datesUntil(LocalDate.parse(query.get("to")).plusDays(1))
+                    .map(date -> day(date, "Clear sky"))
+                    .collect(Collectors.joining(",", "[", "]")));
+        } else {
+            respond(exchange, 200, day(query.get("date"), "Clear sky"));
+        }
+    }
+
+    @Test
+    void rangeIsFetchedInOneRequestAndCachedPerDay() {
+        final Map<LocalDate, WeatherForecast> week = this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM, FROM.plusDays(6));
+
+        assertThat(week.keySet()).containsExactlyElementsOf(FROM.datesUntil(FROM.plusDays(7)).toList());
+        assertThat(week.values()).noneMatch(WeatherForecast::degraded);
+        assertThat(this.requests).hasSize(1);
+
+        // Single days and overlapping ranges are served from the per-day entries
+        assertThat(this.weatherPort.getForecast(LATITUDE, LONGITUDE, FROM.plusDays(3)).degraded()).isFalse();
+        this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM.plusDays(2), FROM.plusDays(8));
+        assertThat(this.requests).hasSize(2);
+    }
+
+    @Test
+    void missingRangeEndpointFallsBackToSingleDayRequests() {
+        this.rangeEndpoint = false;
+
+        final Map<LocalDate, WeatherForecast> days = this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM, FROM.plusDays(2));
+
+        assertThat(days.values()).noneMatch(WeatherForecast::degraded);
+        assertThat(this.requests).containsExactly(
+                "/api/v1/weather/forecast/range",
+                "/api/v1/weather/forecast",
+                "/api/v1/weather/forecast",
+                "/api/v1/weather/forecast");
+    }
+
+    @Test
+    void missingRangeEndpointIsProbedAgainAfterInterval() {
+        this.rangeEndpoint = false;
+        this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM, FROM.plusDays(2));
+        this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM.plusDays(5), FROM.plusDays(6));
+        assertThat(this.requests).filteredOn(RANGE_PATH::equals).hasSize(1);
+        assertThat(this.requests).hasSize(6);
+
+        this.rangeEndpoint = true;
+        this.clock.advance(REPROBE_INTERVAL);
+        this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM.plusDays(10), FROM.plusDays(12));
+        this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM.plusDays(13), FROM.plusDays(14));
+        assertThat(this.requests).hasSize(8);
+        assertThat(this.requests.subList(6, 8)).containsOnly(RANGE_PATH);
+    }
+
+    @Test
+    void concurrentRangeLookupsShareOneRequest() throws Exception {
+        this.hold = new CountDownLatch(1);
+        final CompletableFuture<Map<LocalDate, WeatherForecast>> first = new CompletableFuture<>();
+        final CompletableFuture<Map<LocalDate, WeatherForecast>> second = new CompletableFuture<>();
+        Thread.ofPlatform().start(() -> first.complete(this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM, FROM.plusDays(6))));
+        assertThat(this.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The second caller waits for the in-flight range call instead of making its own
+        final Thread follower = Thread.ofPlatform().start(
+                () -> second.complete(this.weatherPort.getForecasts(LATITUDE, LONGITUDE, FROM, FROM.plusDays(6))));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (follower.getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+
+        this.hold.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).values()).hasSize(7).noneMatch(WeatherForecast::degraded);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get());
+        assertThat(this.requests).containsExactly(RANGE_PATH);
+        assertThat(this.meterRegistry.get("fittrack.weather.upstream.coalesced").counter().count()).isEqualTo(1.0);
+    }
+}
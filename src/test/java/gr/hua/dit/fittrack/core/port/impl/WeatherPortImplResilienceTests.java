@@ -0,0 +1,204 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import gr.hua.dit.fittrack.core.port.impl.dto.WeatherForecast;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.day;
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.parameters;
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.respond;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Circuit breaker, bulkhead and timeout behaviour of {@link WeatherPortImpl} against a local stub
+ * of the weather service.
+ */
+class WeatherPortImplResilienceTests {
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile Duration delay = Duration.ZERO;
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final MutableClock clock = new MutableClock();
+
+    private IntegrationServiceStub stub;
+    private SimpleMeterRegistry meterRegistry;
+    private WeatherPortImpl weatherPort;
+    private LocalDate nextDate = LocalDate.of(2030, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        this.stub = new IntegrationServiceStub(READ_TIMEOUT).handle("/api/v1/weather/forecast", this::handle);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.weatherPort = new WeatherPortImplBuilder(this.stub)
+                .meterRegistry(this.meterRegistry)
+                .geohashPrecision(0)
+                .maxConcurrentCalls(1)
+                .circuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION)
+                .clock(this.clock)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.hold.countDown();
+        this.stub.close();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        this.requests.incrementAndGet();
+        this.entered.countDown();
+        try {
+            this.hold.await(5, TimeUnit.SECONDS);
+            Thread.sleep(this.delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        respond(exchange, this.status, day(parameters(exchange).get("date"), "Clear sky"));
+    }
+
+    // Every call uses a new date, so no call is answered from the forecast / fallback caches
+    private WeatherForecast forecast() {
+        this.nextDate = this.nextDate.plusDays(1);
+        return this.weatherPort.getForecast(37.98, 23.72, this.nextDate);
+    }
+
+    private double rejected(final String reason) {
+        return this.meterRegistry.get("fittrack.weather.upstream.rejected").tag("reason", reason).counter().count();
+    }
+
+    private double stateGauge(final String state) {
+        return this.meterRegistry.get("fittrack.weather.circuit.state").tag("state", state).gauge().value();
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndClosesAfterSuccessfulTrial() {
+        this.status = 500;
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThat(this.forecast().degraded()).isTrue();
+        }
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(stateGauge("open")).isEqualTo(1.0);
+
+        // Open: fail fast without calling the upstream
+        assertThat(this.forecast().degraded()).isTrue();
+        assertThat(this.requests).hasValue(FAILURE_THRESHOLD);
+        assertThat(rejected("circuit_open")).isEqualTo(1.0);
+
+        // After the open duration one trial call goes through and closes the circuit
+        this.status = 200;
+        this.clock.advance(OPEN_DURATION);
+        final WeatherForecast recovered = this.forecast();
+        assertThat(recovered.degraded()).isFalse();
+        assertThat(recovered.weatherDescription()).isEqualTo("Clear sky");
+        assertThat(this.requests).hasValue(FAILURE_THRESHOLD + 1);
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(stateGauge("closed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failedTrialReopensCircuit() {
+        this.status = 503;
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            this.forecast();
+        }
+        this.clock.advance(OPEN_DURATION);
+
+        assertThat(this.forecast().degraded()).isTrue();
+        assertThat(this.requests).hasValue(FAILURE_THRESHOLD + 1);
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        this.status = 404;
+        for (int i = 0; i < FAILURE_THRESHOLD + 1; i++) {
+            assertThat(this.forecast().degraded()).isTrue();
+        }
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void readTimeoutCountsAsFailure() {
+        this.delay = READ_TIMEOUT.multipliedBy(3);
+        final long start = System.nanoTime();
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThat(this.forecast().degraded()).isTrue();
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(this.delay.multipliedBy(FAILURE_THRESHOLD));
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void asyncLookupsShareCircuitBreakerAndCache() throws Exception {
+        this.status = 500;
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            this.nextDate = this.nextDate.plusDays(1);
+            assertThat(this.weatherPort.getForecastAsync(37.98, 23.72, this.nextDate).get(5, TimeUnit.SECONDS).degraded()).isTrue();
+        }
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(this.forecast().degraded()).isTrue();
+        assertThat(this.requests).hasValue(FAILURE_THRESHOLD);
+
+        this.status = 200;
+        this.clock.advance(OPEN_DURATION);
+        final WeatherForecast recovered = this.weatherPort.getForecastAsync(37.98, 23.72, LocalDate.of(2040, 1, 1)).get(5, TimeUnit.SECONDS);
+        assertThat(recovered.degraded()).isFalse();
+        assertThat(this.weatherPort.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // Cached by the async lookup, served to the blocking one
+        assertThat(this.weatherPort.getForecast(37.98, 23.72, LocalDate.of(2040, 1, 1))).isEqualTo(recovered);
+        assertThat(this.requests).hasValue(FAILURE_THRESHOLD + 1);
+    }
+
+    @Test
+    void concurrentAsyncLookupsShareOneRequest() throws Exception {
+        this.hold = new CountDownLatch(1);
+        final LocalDate date = LocalDate.of(2040, 1, 1);
+        final CompletableFuture<WeatherForecast> first = this.weatherPort.getForecastAsync(37.98, 23.72, date);
+        final CompletableFuture<WeatherForecast> second = this.weatherPort.getForecastAsync(37.98, 23.72, date);
+        assertThat(this.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // A caller's deadline does not affect the shared lookup
+        second.completeOnTimeout(null, 10, TimeUnit.MILLISECONDS);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNull();
+
+        this.hold.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).degraded()).isFalse();
+        assertThat(this.requests).hasValue(1);
+    }
+
+    @Test
+    void callsBeyondBulkheadFailFast() throws Exception {
+        this.hold = new CountDownLatch(1);
+        final CompletableFuture<WeatherForecast> blocked = CompletableFuture.supplyAsync(this::forecast);
+        assertThat(this.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The single permit is held by the blocked call
+        assertThat(this.weatherPort.getForecast(37.98, 23.72, LocalDate.of(2040, 1, 1)).degraded()).isTrue();
+        assertThat(rejected("bulkhead_full")).isEqualTo(1.0);
+        assertThat(this.requests).hasValue(1);
+
+        this.hold.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS).degraded()).isFalse();
+    }
+}
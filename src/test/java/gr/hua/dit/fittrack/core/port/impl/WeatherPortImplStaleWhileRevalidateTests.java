@@ -0,0 +1,122 @@
+package gr.hua.dit.fittrack.core.port.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.day;
+import static gr.hua.dit.fittrack.core.port.impl.IntegrationServiceStub.respond;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Soft / hard TTL handling of {@link WeatherPortImpl} against a local stub of the weather service.
+ * Background refreshes run on the calling thread, so they have completed when a lookup returns.
+ */
+class WeatherPortImplStaleWhileRevalidateTests {
+
+    private static final Duration SOFT_TTL = Duration.ofMinutes(30);
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 1);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private volatile int status = 200;
+
+    private IntegrationServiceStub stub;
+    private SimpleMeterRegistry meterRegistry;
+    private final MutableClock clock = new MutableClock();
+
+    @BeforeEach
+    void setUp() {
+        this.stub = new IntegrationServiceStub().handle("/api/v1/weather/forecast", this::handle);
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.stub.close();
+    }
+
+    private WeatherPortImpl weatherPort(final Duration hardTtl, final boolean deferRefreshes) {
+        return new WeatherPortImplBuilder(this.stub)
+                .meterRegistry(this.meterRegistry)
+                .ttl(SOFT_TTL, hardTtl)
+                .refreshExecutor(deferRefreshes ? this.refreshes::add : Runnable::run)
+                .clock(this.clock)
+                .build();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        respond(exchange, this.status, day(DATE, "Forecast #" + this.requests.incrementAndGet()));
+    }
+
+    private String description(final WeatherPortImpl weatherPort) {
+        return weatherPort.getForecast(37.98, 23.72, DATE).weatherDescription();
+    }
+
+    private double count(final String name, final String result) {
+        return this.meterRegistry.get(name).tag("result", result).counter().count();
+    }
+
+    @Test
+    void staleForecastIsServedAndRefreshedInBackground() {
+        final WeatherPortImpl weatherPort = this.weatherPort(Duration.ofHours(1), false);
+        assertThat(description(weatherPort)).isEqualTo("Forecast #1");
+        assertThat(description(weatherPort)).isEqualTo("Forecast #1");
+
+        this.clock.advance(SOFT_TTL);
+        assertThat(description(weatherPort)).isEqualTo("Forecast #1");
+        assertThat(this.requests).hasValue(2);
+        assertThat(count("fittrack.weather.cache.requests", "stale")).isEqualTo(1.0);
+        assertThat(count("fittrack.weather.cache.refreshes", "success")).isEqualTo(1.0);
+
+        // The refreshed forecast is fresh again
+        assertThat(description(weatherPort)).isEqualTo("Forecast #2");
+        assertThat(this.requests).hasValue(2);
+    }
+
+    @Test
+    void onlyOneRefreshPerKeyIsScheduled() {
+        final WeatherPortImpl weatherPort = this.weatherPort(Duration.ofHours(1), true);
+        description(weatherPort);
+        this.clock.advance(SOFT_TTL);
+
+        description(weatherPort);
+        description(weatherPort);
+        assertThat(this.refreshes).hasSize(1);
+
+        this.refreshes.getFirst().run();
+        assertThat(description(weatherPort)).isEqualTo("Forecast #2");
+    }
+
+    @Test
+    void failedRefreshKeepsStaleForecast() {
+        final WeatherPortImpl weatherPort = this.weatherPort(Duration.ofHours(1), false);
+        description(weatherPort);
+        this.clock.advance(SOFT_TTL);
+
+        this.status = 503;
+        assertThat(description(weatherPort)).isEqualTo("Forecast #1");
+        assertThat(description(weatherPort)).isEqualTo("Forecast #1");
+        assertThat(count("fittrack.weather.cache.refreshes", "failure")).isEqualTo(2.0);
+    }
+
+    @Test
+    void forecastOlderThanHardTtlIsFetchedAgain() {
+        final Duration hardTtl = SOFT_TTL.multipliedBy(2);
+        final WeatherPortImpl weatherPort = this.weatherPort(hardTtl, true);
+        description(weatherPort);
+        this.clock.advance(hardTtl);
+
+        assertThat(description(weatherPort)).isEqualTo("Forecast #2");
+        assertThat(this.refreshes).isEmpty();
+    }
+}
@@ -0,0 +1,141 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.service.model.UserActiveCount;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Commit-time adjustments, rebuild and reconciliation of {@link ActiveAppointmentCounter}.
+ */
+class ActiveAppointmentCounterTests {
+
+    private static final long USER_ID = 1L;
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ActiveAppointmentCounter counter = new ActiveAppointmentCounter(this.appointmentRepository, this.meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void database(final long userId, final long count) {
+        when(this.appointmentRepository.countActiveByUser(anySet())).thenReturn(List.of(new UserActiveCount(userId, count)));
+    }
+
+    @Test
+    void adjustmentsAreAppliedOnlyAfterCommit() {
+        this.counter.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.counter.increment(USER_ID);
+        this.counter.increment(USER_ID);
+        assertThat(this.counter.get(USER_ID)).isZero();
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(this.counter.get(USER_ID)).isEqualTo(2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.counter.decrement(USER_ID);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(this.counter.get(USER_ID)).isEqualTo(2);
+    }
+
+    @Test
+    void driftIsCorrectedAndCounted() {
+        this.counter.rebuild();
+        this.counter.increment(USER_ID);
+        this.counter.increment(USER_ID + 1);
+        // The second user's appointment was cancelled and the first user booked another behind the counter's back
+        this.database(USER_ID, 2);
+
+        assertThat(this.counter.reconcile()).isEqualTo(2);
+
+        assertThat(this.counter.get(USER_ID)).isEqualTo(2);
+        assertThat(this.counter.get(USER_ID + 1)).isZero();
+        assertThat(this.meterRegistry.counter("fittrack.booking.active_counter.drift").count()).isEqualTo(2);
+        assertThat(this.counter.reconcile()).isZero();
+    }
+
+    @Test
+    void commitInProgressIsNotMistakenForDrift() throws Exception {
+        this.counter.rebuild();
+        // Committed in the database, adjustment not applied yet (on another thread, as it holds the read lock)
+        final CountDownLatch committing = new CountDownLatch(1);
+        final CountDownLatch complete = new CountDownLatch(1);
+        final CompletableFuture<Void> commit = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            this.counter.increment(USER_ID);
+            final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            TransactionSynchronizationManager.clearSynchronization();
+            committing.countDown();
+            try {
+                complete.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        });
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+        when(this.appointmentRepository.countActiveByUser(anySet())).thenAnswer(invocation -> {
+            complete.countDown();
+            commit.get(5, TimeUnit.SECONDS);
+            return List.of(new UserActiveCount(USER_ID, 1L));
+        });
+
+        // The first snapshot was taken during the commit and is discarded, the second one matches
+        assertThat(this.counter.reconcile()).isZero();
+        assertThat(this.counter.get(USER_ID)).isEqualTo(1);
+        verify(this.appointmentRepository, times(3)).countActiveByUser(anySet());
+    }
+
+    @Test
+    void countsAreLoadedWithoutBlockingCommits() {
+        // An adjustment applied while the counts are loaded (on another thread, so it would wait for a
+        // held lock) makes that snapshot stale; the next one is used
+        when(this.appointmentRepository.countActiveByUser(anySet()))
+                .thenAnswer(invocation -> {
+                    CompletableFuture.runAsync(() -> this.counter.increment(USER_ID)).get(5, TimeUnit.SECONDS);
+                    return List.of();
+                })
+                .thenReturn(List.of(new UserActiveCount(USER_ID, 1L)));
+
+        this.counter.rebuild();
+
+        assertThat(this.counter.get(USER_ID)).isEqualTo(1);
+        verify(this.appointmentRepository, times(2)).countActiveByUser(anySet());
+    }
+
+    private static void completeTransaction(final int status) {
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,149 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSlot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overlap lookups, updates, rebuilds and consistency checks of {@link AppointmentIntervalIndex}.
+ */
+class AppointmentIntervalIndexTests {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Instant T = Instant.parse("2030-06-03T10:00:00Z");
+    private static final long USER_ID = 1L;
+    private static final long TRAINER_ID = 2L;
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final AppointmentIntervalIndex index = new AppointmentIntervalIndex(this.appointmentRepository);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static AppointmentSlot slot(final long appointmentId, final Instant scheduledAt) {
+        return new AppointmentSlot(appointmentId, USER_ID, TRAINER_ID, scheduledAt);
+    }
+
+    @Test
+    void slotsOverlapOnlyIfTheyStartLessThanTheDurationApart() {
+        this.index.register(slot(10L, T));
+
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).contains(10L);
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T.plus(Duration.ofMinutes(59)), HOUR)).contains(10L);
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T.minus(Duration.ofMinutes(59)), HOUR)).contains(10L);
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T.plus(HOUR), HOUR)).isEmpty();
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T.minus(HOUR), HOUR)).isEmpty();
+        assertThat(this.index.findUserOverlap(USER_ID, T.plus(Duration.ofMinutes(30)), HOUR)).contains(10L);
+        assertThat(this.index.findUserOverlap(USER_ID + 1, T, HOUR)).isEmpty();
+    }
+
+    @Test
+    void trainerSlotsAreListedInStartOrderWithinTheRange() {
+        this.index.register(slot(12L, T.plus(Duration.ofHours(4))));
+        this.index.register(slot(10L, T));
+        this.index.register(slot(11L, T.plus(Duration.ofHours(2))));
+
+        assertThat(this.index.findTrainerSlots(TRAINER_ID, T, T.plus(Duration.ofHours(4))))
+                .extracting(AppointmentSlot::appointmentId)
+                .containsExactly(10L, 11L);
+
+        this.index.unregister(10L);
+        assertThat(this.index.findTrainerSlots(TRAINER_ID, T, T.plus(Duration.ofHours(4))))
+                .extracting(AppointmentSlot::appointmentId)
+                .containsExactly(11L);
+        assertThat(this.index.findUserOverlap(USER_ID, T, HOUR)).isEmpty();
+    }
+
+    @Test
+    void updatesAreAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.index.register(slot(10L, T));
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).isEmpty();
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).contains(10L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.index.unregister(10L);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).contains(10L);
+    }
+
+    @Test
+    void driftIsDetectedAndRebuilt() {
+        this.index.register(slot(10L, T));
+        this.index.register(slot(11L, T.plus(Duration.ofHours(2))));
+        // 11 was cancelled and 12 booked behind the index's back
+        when(this.appointmentRepository.findSlotsByStatusIn(anySet()))
+                .thenReturn(List.of(slot(10L, T), slot(12L, T.plus(Duration.ofHours(4)))));
+
+        assertThat(this.index.checkConsistency()).isEqualTo(2);
+
+        assertThat(this.index.findTrainerSlots(TRAINER_ID, T, T.plus(Duration.ofDays(1))))
+                .extracting(AppointmentSlot::appointmentId)
+                .containsExactly(10L, 12L);
+        assertThat(this.index.checkConsistency()).isZero();
+    }
+
+    @Test
+    void pendingUpdateIsNotMistakenForDrift() {
+        // Committed in the database, index update not applied yet
+        TransactionSynchronizationManager.initSynchronization();
+        this.index.register(slot(10L, T));
+        when(this.appointmentRepository.findSlotsByStatusIn(anySet())).thenReturn(List.of(slot(10L, T)));
+
+        assertThat(this.index.checkConsistency()).isZero();
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).isEmpty();
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(this.index.checkConsistency()).isZero();
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).contains(10L);
+    }
+
+    @Test
+    void snapshotIsLoadedWithoutBlockingUpdates() {
+        // An update applied while the snapshot is loaded (on another thread, so it would wait for a
+        // held lock) makes that snapshot stale; the next one is used
+        when(this.appointmentRepository.findSlotsByStatusIn(anySet()))
+                .thenAnswer(invocation -> {
+                    CompletableFuture.runAsync(() -> this.index.register(slot(10L, T))).get(5, TimeUnit.SECONDS);
+                    return List.of();
+                })
+                .thenReturn(List.of(slot(10L, T)));
+
+        this.index.rebuild();
+
+        assertThat(this.index.findTrainerOverlap(TRAINER_ID, T, HOUR)).contains(10L);
+        verify(this.appointmentRepository, times(2)).findSlotsByStatusIn(anySet());
+    }
+
+    private static void completeTransaction(final int status) {
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
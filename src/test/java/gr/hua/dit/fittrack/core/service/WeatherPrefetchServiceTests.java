@@ -0,0 +1,157 @@
+package gr.hua.dit.fittrack.core.service;
+
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.port.WeatherPort;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.service.model.OutdoorAppointmentLocation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Date window, grouping per cache cell, batching and the overlap guard of {@link WeatherPrefetchService}.
+ */
+class WeatherPrefetchServiceTests {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Athens");
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 3);
+    private static final Instant NOW = TODAY.atTime(10, 0).atZone(ZONE).toInstant();
+    private static final int DAYS_AHEAD = 7;
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final WeatherPort weatherPort = mock(WeatherPort.class);
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @BeforeEach
+    void setUp() {
+        // One cell per whole degree of latitude
+        when(this.weatherPort.cacheCell(anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> String.valueOf((int) Math.floor(invocation.<Double>getArgument(0))));
+        when(this.weatherPort.getForecasts(anyDouble(), anyDouble(), any(), any())).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.fanOutExecutor.close();
+    }
+
+    private WeatherPrefetchService service(final int batchSize, final Duration batchPause) {
+        return new WeatherPrefetchService(
+                this.appointmentRepository,
+                this.weatherPort,
+                this.fanOutExecutor,
+                true,
+                DAYS_AHEAD,
+                batchSize,
+                batchPause,
+                Clock.fixed(NOW, ZONE));
+    }
+
+    private void appointments(final OutdoorAppointmentLocation... locations) {
+        when(this.appointmentRepository.findLocationsScheduledBetween(eq(TrainingType.OUTDOOR_TRAINING), anySet(), any(), any()))
+                .thenReturn(List.of(locations));
+    }
+
+    private static OutdoorAppointmentLocation at(final double latitude, final LocalDate date) {
+        return new OutdoorAppointmentLocation(latitude, 23.72, date.atTime(18, 0).atZone(ZONE).toInstant());
+    }
+
+    @Test
+    void appointmentsFromNowUntilTheEndOfTheWindowAreQueried() {
+        this.appointments();
+
+        assertThat(this.service(10, Duration.ZERO).prefetch()).isZero();
+
+        verify(this.appointmentRepository).findLocationsScheduledBetween(
+                eq(TrainingType.OUTDOOR_TRAINING),
+                anySet(),
+                eq(NOW),
+                eq(TODAY.plusDays(DAYS_AHEAD).atStartOfDay(ZONE).toInstant()));
+        verify(this.weatherPort, never()).getForecasts(anyDouble(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void locationsOfOneCellAreFetchedWithOneRangeRequest() {
+        this.appointments(
+                at(37.98, TODAY.plusDays(3)),
+                at(37.50, TODAY),
+                at(37.98, TODAY.plusDays(3)),
+                at(40.64, TODAY.plusDays(1)));
+
+        assertThat(this.service(10, Duration.ZERO).prefetch()).isEqualTo(3);
+
+        // The first location of a cell stands for it; the range spans the cell's dates
+        verify(this.weatherPort).getForecasts(37.98, 23.72, TODAY, TODAY.plusDays(3));
+        verify(this.weatherPort).getForecasts(40.64, 23.72, TODAY.plusDays(1), TODAY.plusDays(1));
+        verify(this.weatherPort, times(2)).getForecasts(anyDouble(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void cellsAreFetchedInBatchesWithPauses() {
+        this.appointments(
+                at(30.0, TODAY), at(31.0, TODAY), at(32.0, TODAY), at(33.0, TODAY), at(34.0, TODAY));
+        final Duration pause = Duration.ofMillis(100);
+
+        final long start = System.nanoTime();
+        assertThat(this.service(2, pause).prefetch()).isEqualTo(5);
+
+        // 5 cells in batches of 2: a pause before the 2nd and before the 3rd batch
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(pause.multipliedBy(2));
+        verify(this.weatherPort, times(5)).getForecasts(anyDouble(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void failedCellDoesNotStopThePrefetch() {
+        this.appointments(at(30.0, TODAY), at(31.0, TODAY));
+        when(this.weatherPort.getForecasts(eq(30.0), anyDouble(), any(), any())).thenThrow(new IllegalStateException("boom"));
+
+        assertThat(this.service(10, Duration.ZERO).prefetch()).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingPrefetchIsSkipped() throws Exception {
+        this.appointments(at(30.0, TODAY));
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch hold = new CountDownLatch(1);
+        when(this.weatherPort.getForecasts(anyDouble(), anyDouble(), any(), any())).thenAnswer(invocation -> {
+            entered.countDown();
+            hold.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        final WeatherPrefetchService service = this.service(10, Duration.ZERO);
+
+        final CompletableFuture<Integer> first = CompletableFuture.supplyAsync(service::prefetch, this.fanOutExecutor);
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.prefetch()).isEqualTo(-1);
+
+        hold.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        // The guard is released afterwards
+        assertThat(service.prefetch()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,224 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.service.ActiveAppointmentCounter;
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gr.hua.dit.fittrack.core.service.impl.PersonTestSupport.authenticate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multithreaded booking stress tests for {@link AppointmentBusinessLogicServiceImpl#requestAppointment}.
+ */
+@SpringBootTest
+class AppointmentBookingConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AppointmentBusinessLogicService appointmentBusinessLogicService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ActiveAppointmentCounter activeAppointmentCounter;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void concurrentBookingsOfSameTrainerSlotProduceExactlyOneAppointment() throws Exception {
+        final Person trainer = createPerson(PersonType.TRAINER);
+        final List<Person> users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) users.add(createPerson(PersonType.USER));
+
+        final Instant slot = futureSlot(10);
+        final AtomicInteger booked = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(users, user -> {
+            try {
+                book(user, trainer, slot);
+                booked.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(booked.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(THREADS - 1);
+        assertThat(this.appointmentRepository.findByTrainerIdAndStatusInAndScheduledAtIsNotNull(
+                trainer.getId(), Set.of(AppointmentStatus.REQUESTED))).hasSize(1);
+    }
+
+    @Test
+    void concurrentOverlappingBookingsOfSameTrainerNeverDoubleBook() throws Exception {
+        final Person trainer = createPerson(PersonType.TRAINER);
+        final List<Person> users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) users.add(createPerson(PersonType.USER));
+
+        // Start times 15 minutes apart, so neighbouring requests overlap
+        final Instant base = futureSlot(20);
+        final AtomicInteger offset = new AtomicInteger();
+
+        runConcurrently(users, user -> {
+            final Instant slot = base.plus(15L * offset.getAndIncrement(), ChronoUnit.MINUTES);
+            try {
+                book(user, trainer, slot);
+            } catch (IllegalStateException ignored) {
+                // conflict
+            }
+        });
+
+        final List<Instant> starts = this.appointmentRepository
+                .findByTrainerIdAndStatusInAndScheduledAtIsNotNull(trainer.getId(), Set.of(AppointmentStatus.REQUESTED))
+                .stream()
+                .map(appointment -> appointment.getScheduledAt())
+                .sorted()
+                .toList();
+
+        assertThat(starts).isNotEmpty();
+        for (int i = 1; i < starts.size(); i++) {
+            assertThat(starts.get(i)).isAfterOrEqualTo(starts.get(i - 1).plus(1, ChronoUnit.HOURS));
+        }
+    }
+
+    @Test
+    void concurrentBookingsOfDifferentTrainersAllSucceed() throws Exception {
+        final List<Person> users = new ArrayList<>();
+        final List<Person> trainers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            users.add(createPerson(PersonType.USER));
+            trainers.add(createPerson(PersonType.TRAINER));
+        }
+
+        final Instant slot = futureSlot(30);
+        final AtomicInteger booked = new AtomicInteger();
+
+        runConcurrently(users, user -> {
+            book(user, trainers.get(users.indexOf(user)), slot);
+            booked.incrementAndGet();
+        });
+
+        assertThat(booked.get()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void concurrentBookingsOfSameUserRespectMaxActiveAppointments() throws Exception {
+        final Person user = createPerson(PersonType.USER);
+        final List<Person> sameUser = new ArrayList<>();
+        final List<Person> trainers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            sameUser.add(user);
+            trainers.add(createPerson(PersonType.TRAINER));
+        }
+
+        // Start from a counter in sync with the database (other tests may insert appointments directly)
+        this.activeAppointmentCounter.reconcile();
+
+        // Different trainers, non-overlapping slots: only the max-active rule can reject
+        final Instant base = futureSlot(40);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger booked = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(sameUser, u -> {
+            final int i = next.getAndIncrement();
+            try {
+                book(u, trainers.get(i), base.plus(2L * i, ChronoUnit.HOURS));
+                booked.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(booked.get()).isEqualTo(5);
+        assertThat(rejected.get()).isEqualTo(THREADS - 5);
+        assertThat(this.appointmentRepository.countByUserIdAndStatusIn(user.getId(), Set.of(AppointmentStatus.REQUESTED))).isEqualTo(5);
+        assertThat(this.activeAppointmentCounter.get(user.getId())).isEqualTo(5);
+        assertThat(this.activeAppointmentCounter.reconcile()).isZero();
+    }
+
+    // Helpers
+    // --------------------------------------------------
+
+    private interface BookingTask {
+        void run(Person user) throws Exception;
+    }
+
+    private void runConcurrently(final List<Person> users, final BookingTask task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final Person user : users) {
+                futures.add(executor.submit(() -> {
+                    authenticate(user);
+                    try {
+                        start.await();
+                        task.run(user);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void book(final Person user, final Person trainer, final Instant slot) {
+        this.appointmentBusinessLogicService.requestAppointment(new CreateAppointmentRequest(
+                user.getId(),
+                trainer.getId(),
+                TrainingType.CARDIO,
+                "stress test",
+                slot,
+                null,
+                null
+        ), false);
+    }
+
+    private static Instant futureSlot(final int daysAhead) {
+        return Instant.now().plus(daysAhead, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private Person createPerson(final PersonType type) {
+        return PersonTestSupport.createPerson(this.personRepository, type, "stress");
+    }
+}
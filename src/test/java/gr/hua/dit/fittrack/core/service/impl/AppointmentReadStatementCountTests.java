@@ -0,0 +1,134 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.Appointment;
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentDataService;
+import gr.hua.dit.fittrack.core.service.model.AppointmentQuery;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static gr.hua.dit.fittrack.core.service.impl.PersonTestSupport.authenticate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that appointment list paths issue a constant number of SQL statements, whatever the list size (no N+1).
+ */
+@SpringBootTest
+class AppointmentReadStatementCountTests {
+
+    @Autowired
+    private AppointmentBusinessLogicService appointmentBusinessLogicService;
+
+    @Autowired
+    private AppointmentDataService appointmentDataService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        this.statistics.setStatisticsEnabled(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void userAndTrainerListsUseConstantStatementCount() {
+        final Person trainer = createPerson(PersonType.TRAINER);
+        final Person smallUser = createPerson(PersonType.USER);
+        final Person largeUser = createPerson(PersonType.USER);
+        createAppointments(smallUser, trainer, 1);
+        createAppointments(largeUser, createPerson(PersonType.TRAINER), 25);
+
+        authenticate(smallUser);
+        final long small = countStatements(() -> assertThat(this.appointmentBusinessLogicService.getAppointments()).hasSize(1));
+        authenticate(largeUser);
+        final long large = countStatements(() -> assertThat(this.appointmentBusinessLogicService.getAppointments()).hasSize(25));
+        assertThat(large).isEqualTo(small).isEqualTo(1);
+
+        authenticate(trainer);
+        assertThat(countStatements(() -> assertThat(this.appointmentBusinessLogicService.getAppointments()).hasSize(1)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void pagedListUsesConstantStatementCount() {
+        final Person user = createPerson(PersonType.USER);
+        createAppointments(user, createPerson(PersonType.TRAINER), 30);
+        authenticate(user);
+
+        final long small = countStatements(() -> this.appointmentBusinessLogicService.getAppointments(new AppointmentQuery(null, null, null, null, 2)));
+        final long large = countStatements(() -> this.appointmentBusinessLogicService.getAppointments(new AppointmentQuery(null, null, null, null, 30)));
+        assertThat(large).isEqualTo(small).isEqualTo(1);
+    }
+
+    @Test
+    void adminListUsesConstantStatementCount() {
+        final Person user = createPerson(PersonType.USER);
+        final Person trainer = createPerson(PersonType.TRAINER);
+        createAppointments(user, trainer, 1);
+        final long before = countStatements(this.appointmentDataService::getAllAppointments);
+
+        createAppointments(createPerson(PersonType.USER), createPerson(PersonType.TRAINER), 20);
+        final long after = countStatements(this.appointmentDataService::getAllAppointments);
+
+        assertThat(after).isEqualTo(before).isEqualTo(1);
+    }
+
+    // Helpers
+    // --------------------------------------------------
+
+    private long countStatements(final Runnable action) {
+        this.statistics.clear();
+        action.run();
+        return this.statistics.getPrepareStatementCount();
+    }
+
+    private void createAppointments(final Person user, final Person trainer, final int count) {
+        final Instant base = Instant.now().plus(60, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < count; i++) {
+            final Appointment appointment = new Appointment();
+            appointment.setUser(user);
+            appointment.setTrainer(trainer);
+            appointment.setStatus(AppointmentStatus.REQUESTED);
+            appointment.setTrainingType(TrainingType.CARDIO);
+            appointment.setScheduledAt(base.plus(2L * i, ChronoUnit.HOURS));
+            appointment.setCreatedAt(Instant.now());
+            this.appointmentRepository.save(appointment);
+        }
+    }
+
+    private Person createPerson(final PersonType type) {
+        return PersonTestSupport.createPerson(this.personRepository, type, "count");
+    }
+}
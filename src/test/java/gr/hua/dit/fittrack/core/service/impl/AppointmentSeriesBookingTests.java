@@ -0,0 +1,197 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.service.ActiveAppointmentCounter;
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentIntervalIndex;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSeriesOccurrence;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSeriesResult;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentSeriesRequest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static gr.hua.dit.fittrack.core.service.impl.PersonTestSupport.authenticate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validation of recurring series in {@link AppointmentBusinessLogicServiceImpl#requestAppointmentSeries}.
+ */
+@SpringBootTest
+class AppointmentSeriesBookingTests {
+
+    private static final Set<AppointmentStatus> ACTIVE = Set.of(AppointmentStatus.REQUESTED, AppointmentStatus.CONFIRMED);
+
+    @Autowired
+    private AppointmentBusinessLogicService appointmentBusinessLogicService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ActiveAppointmentCounter activeAppointmentCounter;
+
+    @Autowired
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void occurrencesBeyondMaxActiveAppointmentsConflict() {
+        final Person user = this.createPerson(PersonType.USER);
+        final Person trainer = this.createPerson(PersonType.TRAINER);
+
+        final AppointmentSeriesResult result = this.bookSeries(user, trainer, futureSlot(7), 7);
+
+        // Occurrences booked earlier in the same series count towards the limit
+        assertThat(result.booked()).isEqualTo(5);
+        assertThat(result.conflicts()).isEqualTo(2);
+        assertThat(result.occurrences()).extracting(AppointmentSeriesOccurrence::status).containsExactly(
+                AppointmentSeriesOccurrence.Status.BOOKED,
+                AppointmentSeriesOccurrence.Status.BOOKED,
+                AppointmentSeriesOccurrence.Status.BOOKED,
+                AppointmentSeriesOccurrence.Status.BOOKED,
+                AppointmentSeriesOccurrence.Status.BOOKED,
+                AppointmentSeriesOccurrence.Status.CONFLICT,
+                AppointmentSeriesOccurrence.Status.CONFLICT);
+        assertThat(result.occurrences().get(5).reason()).contains("5");
+        assertThat(this.appointmentRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE)).isEqualTo(5);
+        assertThat(this.activeAppointmentCounter.get(user.getId())).isEqualTo(5);
+    }
+
+    @Test
+    void conflictingOccurrencesAreSkippedAndTheRestBooked() {
+        final Person user = this.createPerson(PersonType.USER);
+        final Person otherUser = this.createPerson(PersonType.USER);
+        final Person trainer = this.createPerson(PersonType.TRAINER);
+        final Person otherTrainer = this.createPerson(PersonType.TRAINER);
+        final Instant first = futureSlot(14);
+
+        // Week 2: the user is busy elsewhere; week 3: the trainer is busy with someone else (overlapping by 30 minutes)
+        this.book(user, otherTrainer, weeksAfter(first, 1));
+        this.book(otherUser, trainer, weeksAfter(first, 2).plus(30, ChronoUnit.MINUTES));
+
+        final AppointmentSeriesResult result = this.bookSeries(user, trainer, first, 4);
+
+        assertThat(result.booked()).isEqualTo(2);
+        assertThat(result.occurrences()).extracting(AppointmentSeriesOccurrence::status).containsExactly(
+                AppointmentSeriesOccurrence.Status.BOOKED,
+                AppointmentSeriesOccurrence.Status.CONFLICT,
+                AppointmentSeriesOccurrence.Status.CONFLICT,
+                AppointmentSeriesOccurrence.Status.BOOKED);
+        assertThat(result.occurrences().get(1).reason()).isNotEqualTo(result.occurrences().get(2).reason());
+        assertThat(result.occurrences().get(0).appointmentId()).isNotNull();
+        assertThat(result.occurrences().get(1).appointmentId()).isNull();
+        assertThat(this.appointmentRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE)).isEqualTo(3);
+    }
+
+    @Test
+    void seriesOverlappingAnEarlierSeriesIsRejectedPerOccurrence() {
+        final Person user = this.createPerson(PersonType.USER);
+        final Person trainer = this.createPerson(PersonType.TRAINER);
+        final Person otherTrainer = this.createPerson(PersonType.TRAINER);
+        final Instant first = futureSlot(21);
+
+        assertThat(this.bookSeries(user, trainer, first, 3).booked()).isEqualTo(3);
+
+        // Same user, 30 minutes later every week; the last occurrence lies after the first series
+        final AppointmentSeriesResult overlapping = this.bookSeries(user, otherTrainer, first.plus(30, ChronoUnit.MINUTES), 4);
+
+        assertThat(overlapping.occurrences()).extracting(AppointmentSeriesOccurrence::status).containsExactly(
+                AppointmentSeriesOccurrence.Status.CONFLICT,
+                AppointmentSeriesOccurrence.Status.CONFLICT,
+                AppointmentSeriesOccurrence.Status.CONFLICT,
+                AppointmentSeriesOccurrence.Status.BOOKED);
+    }
+
+    @Test
+    void seriesIsRolledBackAsAWhole() {
+        final Person user = this.createPerson(PersonType.USER);
+        final Person trainer = this.createPerson(PersonType.TRAINER);
+        final Instant first = futureSlot(28);
+
+        // The series joins the surrounding transaction, which then fails
+        assertThatThrownBy(() -> new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            assertThat(this.bookSeries(user, trainer, first, 3).booked()).isEqualTo(3);
+            throw new IllegalStateException("abort");
+        })).hasMessage("abort");
+
+        assertThat(this.appointmentRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE)).isZero();
+        assertThat(this.activeAppointmentCounter.get(user.getId())).isZero();
+        assertThat(this.appointmentIntervalIndex.findUserOverlap(user.getId(), first, Duration.ofHours(1))).isEmpty();
+        assertThat(this.appointmentIntervalIndex.findTrainerOverlap(trainer.getId(), weeksAfter(first, 2), Duration.ofHours(1))).isEmpty();
+
+        // Nothing is left behind: the same series can be booked again
+        assertThat(this.bookSeries(user, trainer, first, 3).booked()).isEqualTo(3);
+    }
+
+    // Helpers
+    // --------------------------------------------------
+
+    private Person createPerson(final PersonType type) {
+        return PersonTestSupport.createPerson(this.personRepository, type, "series");
+    }
+
+    private AppointmentSeriesResult bookSeries(final Person user, final Person trainer, final Instant first, final int occurrences) {
+        authenticate(user);
+        return this.appointmentBusinessLogicService.requestAppointmentSeries(new CreateAppointmentSeriesRequest(
+                user.getId(),
+                trainer.getId(),
+                TrainingType.CARDIO,
+                "series test",
+                first,
+                occurrences,
+                1,
+                null,
+                null
+        ));
+    }
+
+    private void book(final Person user, final Person trainer, final Instant slot) {
+        authenticate(user);
+        this.appointmentBusinessLogicService.requestAppointment(new CreateAppointmentRequest(
+                user.getId(),
+                trainer.getId(),
+                TrainingType.CARDIO,
+                "series test",
+                slot,
+                null,
+                null
+        ), false);
+    }
+
+    private static Instant weeksAfter(final Instant first, final int weeks) {
+        return first.atZone(ZoneId.systemDefault()).plusWeeks(weeks).toInstant();
+    }
+
+    private static Instant futureSlot(final int daysAhead) {
+        return Instant.now().plus(daysAhead, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,177 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.Appointment;
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentConflictException;
+import gr.hua.dit.fittrack.core.service.mapper.AppointmentMapper;
+import gr.hua.dit.fittrack.core.service.model.AppointmentView;
+import gr.hua.dit.fittrack.core.service.model.ConfirmAppointmentRequest;
+import gr.hua.dit.fittrack.core.service.model.CreateAppointmentRequest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static gr.hua.dit.fittrack.core.service.impl.PersonTestSupport.authenticate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Concurrent state transitions of the same appointment ({@code @Version} conflicts and retries).
+ *
+ * <p>The race is made deterministic by pausing the first transition after its changes are made but
+ * before its transaction commits (in the view mapping), while the other transition commits.</p>
+ */
+@SpringBootTest
+class AppointmentTransitionConcurrencyTests {
+
+    @Autowired
+    private AppointmentBusinessLogicService appointmentBusinessLogicService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @MockitoSpyBean
+    private AppointmentMapper appointmentMapper;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void confirmLosingAgainstCancelIsAConflict() throws Exception {
+        final Person user = createPerson(PersonType.USER);
+        final Person trainer = createPerson(PersonType.TRAINER);
+        final long appointmentId = book(user, trainer, 50);
+
+        final Future<AppointmentView> confirm = this.raceAgainst(
+                trainer,
+                () -> this.appointmentBusinessLogicService.confirmAppointment(new ConfirmAppointmentRequest(appointmentId)),
+                user,
+                () -> this.appointmentBusinessLogicService.cancelAppointment(appointmentId));
+
+        assertThat(confirm).failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .havingCause()
+                .isInstanceOfSatisfying(AppointmentConflictException.class,
+                        e -> assertThat(e.getCurrent().status()).isEqualTo(AppointmentStatus.CANCELLED));
+        assertThat(status(appointmentId)).isEqualTo(AppointmentStatus.CANCELLED);
+    }
+
+    @Test
+    void cancelLosingAgainstConfirmIsRetried() throws Exception {
+        final Person user = createPerson(PersonType.USER);
+        final Person trainer = createPerson(PersonType.TRAINER);
+        final long appointmentId = book(user, trainer, 51);
+
+        final Future<AppointmentView> cancel = this.raceAgainst(
+                user,
+                () -> this.appointmentBusinessLogicService.cancelAppointment(appointmentId),
+                trainer,
+                () -> this.appointmentBusinessLogicService.confirmAppointment(new ConfirmAppointmentRequest(appointmentId)));
+
+        // Cancelling a CONFIRMED appointment is still valid: the retry re-reads and succeeds
+        assertThat(cancel.get(10, TimeUnit.SECONDS).status()).isEqualTo(AppointmentStatus.CANCELLED);
+        assertThat(status(appointmentId)).isEqualTo(AppointmentStatus.CANCELLED);
+    }
+
+    // Helpers
+    // --------------------------------------------------
+
+    /**
+     * Starts {@code slow} (as {@code slowActor}) and pauses it before its commit, runs {@code fast}
+     * (as {@code fastActor}) to completion, then lets {@code slow} continue.
+     */
+    private Future<AppointmentView> raceAgainst(final Person slowActor,
+                                                final Callable<AppointmentView> slow,
+                                                final Person fastActor,
+                                                final Callable<AppointmentView> fast) throws Exception {
+        final CountDownLatch paused = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        final AtomicBoolean pauseOnce = new AtomicBoolean(true);
+        final Thread[] slowThread = new Thread[1];
+        doAnswer(invocation -> {
+            if (Thread.currentThread() == slowThread[0] && pauseOnce.compareAndSet(true, false)) {
+                paused.countDown();
+                assertThat(resume.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            return invocation.callRealMethod();
+        }).when(this.appointmentMapper).convertAppointmentToAppointmentView(any(Appointment.class));
+
+        final Future<AppointmentView> slowResult = this.executor.submit(() -> {
+            slowThread[0] = Thread.currentThread();
+            authenticate(slowActor);
+            try {
+                return slow.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+        assertThat(paused.await(10, TimeUnit.SECONDS)).isTrue();
+
+        this.executor.submit(() -> {
+            authenticate(fastActor);
+            try {
+                return fast.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        resume.countDown();
+        return slowResult;
+    }
+
+    private long book(final Person user, final Person trainer, final int daysAhead) {
+        authenticate(user);
+        try {
+            return this.appointmentBusinessLogicService.requestAppointment(new CreateAppointmentRequest(
+                    user.getId(),
+                    trainer.getId(),
+                    TrainingType.CARDIO,
+                    "transition test",
+                    Instant.now().plus(daysAhead, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS),
+                    null,
+                    null
+            ), false).id();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private AppointmentStatus status(final long appointmentId) {
+        return this.appointmentRepository.findById(appointmentId).orElseThrow().getStatus();
+    }
+
+    private Person createPerson(final PersonType type) {
+        return PersonTestSupport.createPerson(this.personRepository, type, "transition");
+    }
+}
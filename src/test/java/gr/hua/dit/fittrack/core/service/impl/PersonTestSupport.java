@@ -0,0 +1,49 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.security.ApplicationUserDetails;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+/**
+ * Persons and authentication for service tests.
+ */
+final class PersonTestSupport {
+
+    private PersonTestSupport() {}
+
+    /**
+     * Saves a person with unique username / email address, prefixed by {@code prefix}.
+     */
+    static Person createPerson(final PersonRepository personRepository, final PersonType type, final String prefix) {
+        final String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return personRepository.save(new Person(
+                null,
+                prefix + "-" + suffix,
+                "Test",
+                "Test " + suffix,
+                prefix + "-" + suffix + "@fittrack.test",
+                type,
+                "{noop}unused",
+                null,
+                null,
+                null,
+                null
+        ));
+    }
+
+    /**
+     * Authenticates the current thread as {@code person}.
+     */
+    static void authenticate(final Person person) {
+        final ApplicationUserDetails userDetails = new ApplicationUserDetails(
+                person.getId(), person.getEmailAddress(), "", person.getType());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+}
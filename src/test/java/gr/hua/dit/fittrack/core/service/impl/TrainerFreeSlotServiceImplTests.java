@@ -0,0 +1,190 @@
+package gr.hua.dit.fittrack.core.service.impl;
+
+import gr.hua.dit.fittrack.core.model.Availability;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.repository.AvailabilityRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.service.AppointmentIntervalIndex;
+import gr.hua.dit.fittrack.core.service.TrainerNotFoundException;
+import gr.hua.dit.fittrack.core.service.model.AppointmentSlot;
+import gr.hua.dit.fittrack.core.service.model.FreeSlot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bitmap slot calculation of {@link TrainerFreeSlotServiceImpl}: default working hours 09:00-21:00,
+ * slot starts every 30 minutes.
+ */
+class TrainerFreeSlotServiceImplTests {
+
+    private static final long TRAINER_ID = 7L;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    // A Monday, far from DST transitions
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    private final PersonRepository personRepository = mock(PersonRepository.class);
+    private final AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+    private final AppointmentIntervalIndex appointmentIntervalIndex = mock(AppointmentIntervalIndex.class);
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Person trainer = new Person();
+
+    private TrainerFreeSlotServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        this.trainer.setId(TRAINER_ID);
+        this.trainer.setType(PersonType.TRAINER);
+        this.trainer.setWorkingDays("1,2,3,4,5");
+        when(this.personRepository.findById(TRAINER_ID)).thenReturn(Optional.of(this.trainer));
+        this.service = new TrainerFreeSlotServiceImpl(
+                this.personRepository,
+                this.availabilityRepository,
+                this.appointmentIntervalIndex,
+                9,
+                21,
+                28,
+                Duration.ofMinutes(30),
+                Duration.ofMinutes(1),
+                this.fanOutExecutor,
+                Duration.ofMillis(500)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.fanOutExecutor.close();
+    }
+
+    private static Instant at(final LocalDate day, final int hour, final int minute) {
+        return day.atTime(LocalTime.of(hour, minute)).atZone(ZONE).toInstant();
+    }
+
+    private List<LocalTime> slotStarts(final LocalDate from, final LocalDate to) {
+        return this.service.findFreeSlots(TRAINER_ID, at(from, 0, 0), at(to, 0, 0), 100).slots().stream()
+                .map(FreeSlot::start)
+                .map(start -> LocalTime.ofInstant(start, ZONE))
+                .toList();
+    }
+
+    private void book(final Instant... starts) {
+        final List<AppointmentSlot> slots = Arrays.stream(starts)
+                .map(start -> new AppointmentSlot(null, null, TRAINER_ID, start))
+                .toList();
+        when(this.appointmentIntervalIndex.findTrainerSlots(eq(TRAINER_ID), any(), any())).thenReturn(slots);
+    }
+
+    private void publish(final Instant start, final Instant end) {
+        when(this.availabilityRepository.findByTrainerIdAndEndTimeAfterOrderByStartTime(eq(TRAINER_ID), any()))
+                .thenReturn(List.of(new Availability(start.atZone(ZONE).toOffsetDateTime(), end.atZone(ZONE).toOffsetDateTime(), this.trainer)));
+    }
+
+    @Test
+    void defaultWorkingHoursFillTheDayUpToClosing() {
+        final List<LocalTime> starts = this.slotStarts(MONDAY, MONDAY.plusDays(1));
+
+        // The last slot ends exactly at closing time
+        assertThat(starts).hasSize(23);
+        assertThat(starts.getFirst()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(starts.getLast()).isEqualTo(LocalTime.of(20, 0));
+    }
+
+    @Test
+    void nonWorkingDaysHaveNoSlots() {
+        assertThat(this.slotStarts(MONDAY.plusDays(5), MONDAY.plusDays(7))).isEmpty();
+    }
+
+    @Test
+    void bookedAppointmentsBlockTheBucketsTheyTouch() {
+        this.book(at(MONDAY, 10, 0), at(MONDAY, 12, 15));
+
+        assertThat(this.slotStarts(MONDAY, MONDAY.plusDays(1)).subList(0, 5)).containsExactly(
+                LocalTime.of(9, 0),
+                LocalTime.of(11, 0),
+                // 12:15-13:15 blocks the 11:30, 12:00, 12:30 and 13:00 starts
+                LocalTime.of(13, 30),
+                LocalTime.of(14, 0),
+                LocalTime.of(14, 30));
+    }
+
+    @Test
+    void appointmentOverlappingClosingTimeLeavesNoLateSlot() {
+        this.book(at(MONDAY, 20, 30));
+
+        assertThat(this.slotStarts(MONDAY, MONDAY.plusDays(1)).getLast()).isEqualTo(LocalTime.of(19, 30));
+    }
+
+    @Test
+    void publishedAvailabilityReplacesDefaultHoursOnlyInsideFullBuckets() {
+        this.publish(at(MONDAY, 14, 10), at(MONDAY, 16, 0));
+
+        // 14:10 rounds up to the 14:15 bucket, the first aligned start is 14:30
+        assertThat(this.slotStarts(MONDAY, MONDAY.plusDays(1))).containsExactly(LocalTime.of(14, 30), LocalTime.of(15, 0));
+        // Other days keep the default working hours
+        assertThat(this.slotStarts(MONDAY.plusDays(1), MONDAY.plusDays(2))).hasSize(23);
+    }
+
+    @Test
+    void availabilitySpanningMidnightIsOneRunAcrossDays() {
+        this.publish(at(MONDAY, 22, 0), at(MONDAY.plusDays(1), 1, 30));
+
+        final List<LocalTime> starts = this.slotStarts(MONDAY, MONDAY.plusDays(2));
+
+        assertThat(starts.subList(0, 6)).containsExactly(
+                LocalTime.of(22, 0),
+                LocalTime.of(22, 30),
+                LocalTime.of(23, 0),
+                LocalTime.of(23, 30),
+                LocalTime.of(0, 0),
+                LocalTime.of(0, 30));
+        // Tuesday has published availability, so no default hours
+        assertThat(starts).hasSize(6);
+    }
+
+    @Test
+    void searchIsLimitedToTheRequestedWindow() {
+        final List<FreeSlot> slots = this.service.findFreeSlots(
+                TRAINER_ID, at(MONDAY, 19, 40), at(MONDAY, 21, 0), 100).slots();
+
+        assertThat(slots).extracting(FreeSlot::start).containsExactly(at(MONDAY, 20, 0));
+        assertThat(this.service.findFreeSlots(TRAINER_ID, at(MONDAY, 10, 0), at(MONDAY, 10, 45), 100).slots()).isEmpty();
+    }
+
+    @Test
+    void unknownTrainerAndInvalidWorkingDaysAreDistinguished() {
+        when(this.personRepository.findById(anyLong())).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> this.service.findFreeSlots(99L, at(MONDAY, 0, 0), null, 5))
+                .isInstanceOf(TrainerNotFoundException.class);
+
+        when(this.personRepository.findById(TRAINER_ID)).thenReturn(Optional.of(this.trainer));
+        this.trainer.setWorkingDays("1,x");
+        assertThatThrownBy(() -> this.service.findFreeSlots(TRAINER_ID, at(MONDAY, 0, 0), null, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        this.trainer.setWorkingDays("1,8");
+        assertThatThrownBy(() -> this.service.findFreeSlots(TRAINER_ID, at(MONDAY, 0, 0), null, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package gr.hua.dit.fittrack.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Endpoints, payloads and injected faults of the {@link IntegrationStubServer}.
+ */
+class IntegrationStubServerTests {
+
+    private static final IntegrationStubProperties.Latency NO_LATENCY =
+            new IntegrationStubProperties.Latency(Duration.ZERO, Duration.ZERO);
+    private static final IntegrationStubProperties.Faults NO_FAULTS =
+            new IntegrationStubProperties.Faults(0, 503, 0, Duration.ofSeconds(10));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IntegrationStubServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (this.server != null) this.server.stop();
+    }
+
+    private void start(final IntegrationStubProperties.Faults weatherFaults, final boolean rangeEnabled) throws IOException {
+        this.server = new IntegrationStubServer(
+                new IntegrationStubProperties(
+                        0,
+                        new IntegrationStubProperties.Weather(NO_LATENCY, weatherFaults, rangeEnabled,
+                                24.0, 14.0, 3.0, 0.2, 8.0, 0),
+                        new IntegrationStubProperties.Geocoding(NO_LATENCY, NO_FAULTS, 0.0)),
+                this.objectMapper,
+                this.meterRegistry);
+        this.server.start();
+    }
+
+    private HttpResponse<String> get(final String pathAndQuery) throws IOException, InterruptedException {
+        return this.httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + this.server.getPort() + pathAndQuery)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void forecastsAreDeterministicPerLocationAndDate() throws Exception {
+        start(NO_FAULTS, true);
+
+        final HttpResponse<String> single = get("/api/v1/weather/forecast?latitude=37.98&longitude=23.72&date=2030-06-02");
+        final HttpResponse<String> range = get("/api/v1/weather/forecast/range?latitude=37.98&longitude=23.72&from=2030-06-01&to=2030-06-05");
+
+        assertThat(single.statusCode()).isEqualTo(200);
+        assertThat(range.statusCode()).isEqualTo(200);
+        final JsonNode days = this.objectMapper.readTree(range.body());
+        assertThat(days).hasSize(5);
+        assertThat(days.get(1)).isEqualTo(this.objectMapper.readTree(single.body()));
+        assertThat(days.get(1).get("temperature_max").asDouble()).isBetween(21.0, 27.0);
+    }
+
+    @Test
+    void injectedFaultsAndMissingRangeEndpoint() throws Exception {
+        start(new IntegrationStubProperties.Faults(1.0, 503, 0, Duration.ofSeconds(10)), false);
+
+        assertThat(get("/api/v1/weather/forecast?latitude=37.98&longitude=23.72&date=2030-06-02").statusCode())
+                .isEqualTo(503);
+        assertThat(get("/api/v1/weather/forecast/range?latitude=37.98&longitude=23.72&from=2030-06-01&to=2030-06-05").statusCode())
+                .isEqualTo(404);
+        assertThat(this.meterRegistry.get("fittrack.stub.requests").tag("outcome", "error").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void geocodingResolvesQueries() throws Exception {
+        start(NO_FAULTS, true);
+
+        final HttpResponse<String> response = get("/api/integration/geocoding?postalCode=%CE%91%CE%B8%CE%AE%CE%BD%CE%B1&country=GR");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        final JsonNode result = this.objectMapper.readTree(response.body());
+        assertThat(result.get("found").asBoolean()).isTrue();
+        assertThat(result.get("name").asText()).isEqualTo("Αθήνα");
+        assertThat(result.get("latitude").asDouble()).isBetween(36.5, 41.0);
+        assertThat(get("/api/integration/geocoding?country=GR").statusCode()).isEqualTo(400);
+    }
+}
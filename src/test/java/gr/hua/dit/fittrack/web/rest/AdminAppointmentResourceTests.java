@@ -0,0 +1,149 @@
+package gr.hua.dit.fittrack.web.rest;
+
+import gr.hua.dit.fittrack.core.model.Appointment;
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.Person;
+import gr.hua.dit.fittrack.core.model.PersonType;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.repository.AppointmentRepository;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streamed NDJSON export of {@link AdminAppointmentResource}.
+ */
+// MockMvc is built on the shared application context (no @AutoConfigureMockMvc, which would start a
+// second context on the same database)
+@SpringBootTest
+class AdminAppointmentResourceTests {
+
+    private static final String EXPORT = "/api/v1/admin/appointments/export";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).apply(springSecurity()).build();
+    }
+
+    private String export(final Instant since) throws Exception {
+        final MvcResult started = this.mockMvc.perform(get(EXPORT).param("since", since.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return this.mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportIsStreamedWithItsOwnTimeout() throws Exception {
+        final MvcResult started = this.mockMvc.perform(get(EXPORT).accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+
+        final String body = this.mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(body.lines()).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void incrementalExportIncludesCancellations() throws Exception {
+        final Appointment untouched = this.createAppointment();
+        final Appointment cancelled = this.createAppointment();
+        Thread.sleep(5);
+        final Instant since = Instant.now();
+        Thread.sleep(5);
+
+        cancelled.setStatus(AppointmentStatus.CANCELLED);
+        this.appointmentRepository.save(cancelled);
+
+        final String body = this.export(since);
+        assertThat(body).contains("\"id\":" + cancelled.getId() + ",");
+        assertThat(body).contains("\"status\":\"CANCELLED\"");
+        assertThat(body).doesNotContain("\"id\":" + untouched.getId() + ",");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportIsForbiddenToUsers() throws Exception {
+        this.mockMvc.perform(get(EXPORT)).andExpect(status().isForbidden());
+    }
+
+    // Helpers
+    // --------------------------------------------------
+
+    private Appointment createAppointment() {
+        final Person user = this.createPerson(PersonType.USER);
+        final Person trainer = this.createPerson(PersonType.TRAINER);
+        return this.appointmentRepository.save(new Appointment(
+                null,
+                user,
+                trainer,
+                TrainingType.CARDIO,
+                AppointmentStatus.REQUESTED,
+                Instant.now().plus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS),
+                "export test",
+                null,
+                null,
+                null,
+                null
+        ));
+    }
+
+    private Person createPerson(final PersonType type) {
+        final String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return this.personRepository.save(new Person(
+                null,
+                "export-" + suffix,
+                "Test",
+                "Test " + suffix,
+                "export-" + suffix + "@fittrack.test",
+                type,
+                "{noop}unused",
+                null,
+                null,
+                null,
+                null
+        ));
+    }
+}
@@ -0,0 +1,73 @@
+package gr.hua.dit.fittrack.web.ui;
+
+import gr.hua.dit.fittrack.core.model.AppointmentStatus;
+import gr.hua.dit.fittrack.core.model.TrainingType;
+import gr.hua.dit.fittrack.core.repository.PersonRepository;
+import gr.hua.dit.fittrack.core.security.CurrentUserProvider;
+import gr.hua.dit.fittrack.core.service.AppointmentBusinessLogicService;
+import gr.hua.dit.fittrack.core.service.AppointmentConflictException;
+import gr.hua.dit.fittrack.core.service.mapper.PersonMapper;
+import gr.hua.dit.fittrack.core.service.model.AppointmentView;
+import gr.hua.dit.fittrack.core.service.model.ConfirmAppointmentRequest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Error responses of the AJAX transitions of {@link AppointmentController}.
+ */
+class AppointmentControllerTests {
+
+    private static final long ID = 5L;
+
+    private final AppointmentBusinessLogicService appointmentService = mock(AppointmentBusinessLogicService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AppointmentController(
+            this.appointmentService,
+            mock(CurrentUserProvider.class),
+            mock(PersonRepository.class),
+            mock(PersonMapper.class))).build();
+
+    private static AppointmentConflictException conflict(final AppointmentStatus current) {
+        final AppointmentView view = new AppointmentView(ID, null, null, current, TrainingType.CARDIO,
+                null, null, Instant.parse("2030-06-03T10:00:00Z"), null, null, null, null, null, null);
+        return new AppointmentConflictException("changed", view, null);
+    }
+
+    @Test
+    void concurrentChangeIsAConflictWithTheCurrentState() throws Exception {
+        when(this.appointmentService.cancelAppointment(ID)).thenThrow(conflict(AppointmentStatus.COMPLETED));
+        when(this.appointmentService.confirmAppointment(new ConfirmAppointmentRequest(ID))).thenThrow(conflict(AppointmentStatus.CANCELLED));
+
+        this.mockMvc.perform(post("/appointments/{id}/cancel", ID).header("X-Requested-With", "XMLHttpRequest"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("changed"))
+                .andExpect(jsonPath("$.current.status").value("COMPLETED"));
+        this.mockMvc.perform(post("/appointments/{id}/confirm", ID).header("X-Requested-With", "XMLHttpRequest"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.current.status").value("CANCELLED"));
+
+        // Without AJAX: back to the appointment, which shows its current state
+        this.mockMvc.perform(post("/appointments/{id}/cancel", ID))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "/appointments/" + ID));
+    }
+
+    @Test
+    void invalidTransitionIsABadRequest() throws Exception {
+        when(this.appointmentService.cancelAppointment(ID)).thenThrow(new IllegalArgumentException("invalid"));
+
+        this.mockMvc.perform(post("/appointments/{id}/cancel", ID).header("X-Requested-With", "XMLHttpRequest"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("invalid"));
+    }
+}